@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.mockito.Mockito;
+import org.openhab.automation.jrule.internal.JRuleConfig;
+import org.openhab.automation.jrule.internal.engine.JRuleEngine;
+import org.openhab.automation.jrule.internal.handler.JRuleEventHandler;
+import org.openhab.automation.jrule.internal.module.JRuleRuleProvider;
+import org.openhab.automation.jrule.internal.test.JRuleMockedEventBus;
+import org.openhab.automation.jrule.items.JRuleItemRegistry;
+import org.openhab.core.events.EventPublisher;
+import org.openhab.core.items.GenericItem;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link JRuleBenchmarkEngine} wires the engine against mocked openHAB registries, the same way
+ * JRuleAbstractTest does, so benchmarks run offline. Items are looked up through a single map backed stubbing, so
+ * the mock does not get slower with the number of items.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleBenchmarkEngine {
+    private final Map<String, GenericItem> items = new HashMap<>();
+    private final JRuleMockedEventBus eventBus = new JRuleMockedEventBus();
+
+    public JRuleBenchmarkEngine() throws ItemNotFoundException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("org.openhab.automation.jrule.engine.executors.enable", "false");
+        JRuleConfig config = new JRuleConfig(properties);
+        config.initConfig();
+
+        JRuleEngine engine = JRuleEngine.get();
+        engine.setConfig(config);
+
+        ItemRegistry itemRegistry = Mockito.mock(ItemRegistry.class);
+        when(itemRegistry.getItem(anyString())).thenAnswer(invocation -> {
+            GenericItem item = items.get(invocation.<String> getArgument(0));
+            if (item == null) {
+                throw new ItemNotFoundException(invocation.getArgument(0));
+            }
+            return item;
+        });
+        JRuleEventHandler.get().setItemRegistry(itemRegistry);
+        engine.setItemRegistry(itemRegistry);
+        JRuleRuleProvider ruleProvider = new JRuleRuleProvider();
+        ruleProvider.setEventPublisher(Mockito.mock(EventPublisher.class));
+        engine.setRuleProvider(ruleProvider);
+
+        JRuleItemRegistry.setMetadataRegistry(Mockito.mock(MetadataRegistry.class));
+        JRuleEventHandler.get().setEventPublisher(Mockito.mock(EventPublisher.class));
+
+        engine.reset();
+        eventBus.start();
+    }
+
+    public void registerItem(GenericItem item, State state) {
+        item.setState(state);
+        items.put(item.getName(), item);
+    }
+
+    public JRuleMockedEventBus getEventBus() {
+        return eventBus;
+    }
+
+    public void stop() {
+        eventBus.stop();
+        JRuleEngine.get().reset();
+        JRuleItemRegistry.clear();
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleItemExecutionContext.JRuleConditionContext;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link JRuleConditionBenchmark} measures evaluating a single {@link JRuleConditionContext} against an item
+ * state, for the condition shapes rules use.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JRuleConditionBenchmark {
+
+    @Param({ "EQ", "NEQ", "GT", "RANGE", "QUANTITY_GT", "NOT_A_NUMBER" })
+    public String shape;
+
+    private JRuleConditionContext condition;
+    private State state;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Optional<Double> none = Optional.empty();
+        switch (shape) {
+            case "EQ" -> {
+                condition = new JRuleConditionContext(none, none, none, none, Optional.of("ON"), Optional.empty());
+                state = new StringType("ON");
+            }
+            case "NEQ" -> {
+                condition = new JRuleConditionContext(none, none, none, none, Optional.empty(), Optional.of("OFF"));
+                state = new StringType("ON");
+            }
+            case "GT" -> {
+                condition = new JRuleConditionContext(Optional.of(10.0), none, none, none, Optional.empty(),
+                        Optional.empty());
+                state = new DecimalType(21.5);
+            }
+            case "RANGE" -> {
+                condition = new JRuleConditionContext(none, Optional.of(10.0), Optional.of(30.0), none,
+                        Optional.empty(), Optional.empty());
+                state = new DecimalType(21.5);
+            }
+            case "QUANTITY_GT" -> {
+                condition = new JRuleConditionContext(Optional.of(10.0), none, none, none, Optional.empty(),
+                        Optional.empty());
+                state = QuantityType.valueOf("21.5 °C");
+            }
+            default -> {
+                condition = new JRuleConditionContext(Optional.of(10.0), none, none, none, Optional.empty(),
+                        Optional.empty());
+                state = new StringType("unknown");
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean matchCondition() {
+        return condition.matchCondition(state);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openhab.automation.jrule.internal.engine.JRuleBuilder;
+import org.openhab.automation.jrule.internal.engine.JRuleEngine;
+import org.openhab.automation.jrule.rules.JRuleMemberOf;
+import org.openhab.core.events.Event;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link JRuleDispatchBenchmark} measures the way of an item event from
+ * {@link org.openhab.automation.jrule.internal.events.JRuleEventSubscriber#receive} through
+ * {@link JRuleEngine#fire} to the invoked rule, with executors disabled so the rule runs on the benchmark thread.
+ * Every rule watches its own item, so a matching event invokes exactly one rule. The filtered event reaches the rule's
+ * context but is rejected by the TO and CONDITION triggers.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JRuleDispatchBenchmark {
+    private static final String ITEM_PREFIX = "BenchmarkItem_";
+
+    @Param({ "10", "1000", "10000" })
+    public int ruleCount;
+
+    @Param({ "NONE", "TO", "CONDITION" })
+    public String trigger;
+
+    private final LongAdder invocations = new LongAdder();
+    private JRuleBenchmarkEngine engine;
+    private Event matchingEvent;
+    private Event filteredEvent;
+    private Event unwatchedEvent;
+
+    @Setup(Level.Trial)
+    public void setup() throws ItemNotFoundException {
+        engine = new JRuleBenchmarkEngine();
+        for (int i = 0; i < ruleCount; i++) {
+            String itemName = ITEM_PREFIX + i;
+            engine.registerItem(new NumberItem(itemName), new DecimalType(0));
+            JRuleBuilder builder = JRuleEngine.get()
+                    .createJRuleBuilder("Benchmark rule " + i, event -> invocations.increment())
+                    .uid("benchmark-" + i).enableRule(true);
+            switch (trigger) {
+                case "TO" -> builder.whenItemChange(itemName, JRuleMemberOf.None, null, "20", null, null);
+                case "CONDITION" -> builder.whenItemChange(itemName, JRuleMemberOf.None, null, null, null,
+                        new JRuleBuilder.Condition(null, null, 10.0, null, null, null));
+                default -> builder.whenItemChange(itemName, JRuleMemberOf.None, null, null, null, null);
+            }
+            builder.build();
+        }
+        engine.registerItem(new NumberItem("Unwatched"), new DecimalType(0));
+
+        String target = ITEM_PREFIX + (ruleCount / 2);
+        matchingEvent = ItemEventFactory.createStateChangedEvent(target, new DecimalType(20), new DecimalType(0), null,
+                null);
+        filteredEvent = ItemEventFactory.createStateChangedEvent(target, new DecimalType(5), new DecimalType(0), null,
+                null);
+        unwatchedEvent = ItemEventFactory.createStateChangedEvent("Unwatched", new DecimalType(20),
+                new DecimalType(0), null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.stop();
+    }
+
+    @Benchmark
+    public long matchingEvent() {
+        engine.getEventBus().receive(matchingEvent);
+        return invocations.sum();
+    }
+
+    @Benchmark
+    public long filteredEvent() {
+        engine.getEventBus().receive(filteredEvent);
+        return invocations.sum();
+    }
+
+    @Benchmark
+    public long unwatchedEvent() {
+        engine.getEventBus().receive(unwatchedEvent);
+        return invocations.sum();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.benchmark;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.automation.jrule.internal.handler.JRuleEventHandler;
+import org.openhab.automation.jrule.rules.value.JRuleValue;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link JRuleToValueBenchmark} measures converting openHAB states into {@link JRuleValue}s, which happens twice
+ * for every item change event handed to a rule.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JRuleToValueBenchmark {
+
+    @Param({ "DECIMAL", "QUANTITY", "PERCENT", "ON_OFF", "OPEN_CLOSED", "STRING", "HSB", "DATE_TIME" })
+    public String type;
+
+    private State state;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        state = switch (type) {
+            case "DECIMAL" -> new DecimalType(21.5);
+            case "QUANTITY" -> QuantityType.valueOf("21.5 °C");
+            case "PERCENT" -> new PercentType(42);
+            case "ON_OFF" -> OnOffType.ON;
+            case "OPEN_CLOSED" -> OpenClosedType.CLOSED;
+            case "HSB" -> new HSBType("120,100,50");
+            case "DATE_TIME" -> new DateTimeType(ZonedDateTime.now());
+            default -> new StringType("some text");
+        };
+    }
+
+    @Benchmark
+    public JRuleValue toValue() {
+        return JRuleEventHandler.get().toValue(state);
+    }
+}
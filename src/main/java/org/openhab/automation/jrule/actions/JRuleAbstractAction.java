@@ -33,10 +33,21 @@ public abstract class JRuleAbstractAction {
         this.thingUID = thingUID;
     }
 
+    protected JRuleActionMethod actionMethod(String methodName, Class<?>... classes) {
+        return new JRuleActionMethod(methodName, classes);
+    }
+
+    /**
+     * Invokes the action through the method handle cached by the given method. Only the current
+     * {@link ThingActions} instance of the thing is looked up on every call.
+     */
+    protected Object invokeMethod(JRuleActionMethod method, Object... args) {
+        return method.invoke(getThingActions(), args);
+    }
+
     protected Object invokeMethod(String methodName, Class<?>[] classes, Object... args) {
         try {
-            ThingActions thingActions = Objects.requireNonNull(Things.getActions(scope, thingUID),
-                    String.format("action for '%s' with uid '%s' could not be found", scope, thingUID));
+            ThingActions thingActions = getThingActions();
             Method method = thingActions.getClass().getDeclaredMethod(methodName, classes);
             return method.invoke(thingActions, args);
         } catch (NoSuchMethodException e) {
@@ -48,6 +59,11 @@ public abstract class JRuleAbstractAction {
         }
     }
 
+    private ThingActions getThingActions() {
+        return Objects.requireNonNull(Things.getActions(scope, thingUID),
+                () -> String.format("action for '%s' with uid '%s' could not be found", scope, thingUID));
+    }
+
     public String getThingUID() {
         return thingUID;
     }
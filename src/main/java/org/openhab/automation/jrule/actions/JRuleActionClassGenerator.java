@@ -13,7 +13,6 @@
 package org.openhab.automation.jrule.actions;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -41,8 +40,6 @@ import org.openhab.core.thing.binding.ThingHandlerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import freemarker.template.Template;
-
 /**
  * The {@link JRuleActionClassGenerator} Class Generator for actions
  *
@@ -72,14 +69,14 @@ public class JRuleActionClassGenerator extends JRuleAbstractClassGenerator {
                     .append(getActionFriendlyName(thing.getUID().toString())).append(JRuleConstants.JAVA_FILE_TYPE)
                     .toString());
 
-            try (FileWriter fileWriter = new FileWriter(targetSourceFile)) {
-                Template template = freemarkerConfiguration
-                        .getTemplate("actions/" + actionModel.get("templateName") + TEMPLATE_SUFFIX);
-                template.process(processingModel, fileWriter);
+            String templateName = "actions/" + actionModel.get("templateName") + TEMPLATE_SUFFIX;
+            if (writeSource(targetSourceFile, templateName, processingModel)) {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
+                        targetSourceFile.getAbsolutePath());
+            } else {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Generated class unchanged: {}",
+                        targetSourceFile.getAbsolutePath());
             }
-
-            JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
-                    targetSourceFile.getAbsolutePath());
             return true;
 
         } catch (Exception e) {
@@ -104,13 +101,13 @@ public class JRuleActionClassGenerator extends JRuleAbstractClassGenerator {
             File targetSourceFile = new File(new StringBuilder().append(jRuleConfig.getActionsDirectory())
                     .append(File.separator).append("JRuleActions.java").toString());
 
-            try (FileWriter fileWriter = new FileWriter(targetSourceFile)) {
-                Template template = freemarkerConfiguration.getTemplate("actions/Actions" + TEMPLATE_SUFFIX);
-                template.process(processingModel, fileWriter);
+            if (writeSource(targetSourceFile, "actions/Actions" + TEMPLATE_SUFFIX, processingModel)) {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
+                        targetSourceFile.getAbsolutePath());
+            } else {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Generated class unchanged: {}",
+                        targetSourceFile.getAbsolutePath());
             }
-
-            JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
-                    targetSourceFile.getAbsolutePath());
             return true;
         } catch (Exception e) {
             JRuleLog.error(logger, LOG_NAME_CLASS_GENERATOR,
@@ -178,6 +175,8 @@ public class JRuleActionClassGenerator extends JRuleAbstractClassGenerator {
                     .forEach(method -> {
                         Map<Object, Object> methodMap = new HashMap<>();
                         methodMap.put("name", method.getName());
+                        // overloaded actions share the name, so the cached method is numbered
+                        methodMap.put("handle", method.getName() + "Method" + methodList.size());
 
                         Class<?> returnType = replaceTypeIfNecessary(method.getReturnType());
 
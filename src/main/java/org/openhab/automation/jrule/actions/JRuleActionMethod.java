@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.actions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.openhab.core.thing.binding.ThingActions;
+
+/**
+ * The {@link JRuleActionMethod} is one method of a generated action class. It keeps a method handle bound to the
+ * {@link ThingActions} instance it was last called on, and binds again once the thing handler provides another
+ * instance, e.g. after the thing was restarted.
+ *
+ * @author Robert Delbrück - Initial contribution
+ */
+public final class JRuleActionMethod {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final String name;
+    private final Class<?>[] parameterTypes;
+    private volatile Binding binding;
+
+    JRuleActionMethod(String name, Class<?>[] parameterTypes) {
+        this.name = name;
+        this.parameterTypes = parameterTypes;
+    }
+
+    Object invoke(ThingActions thingActions, Object[] args) {
+        Binding current = binding;
+        if (current == null || current.thingActions != thingActions) {
+            current = new Binding(thingActions, bind(thingActions));
+            binding = current;
+        }
+        try {
+            return current.invoker.invokeExact(args);
+        } catch (Throwable e) {
+            throw new RuntimeException("error invoking method", e);
+        }
+    }
+
+    private MethodHandle bind(ThingActions thingActions) {
+        try {
+            Method method = thingActions.getClass().getDeclaredMethod(name, parameterTypes);
+            return MethodHandles.publicLookup().unreflect(method).bindTo(thingActions)
+                    .asSpreader(Object[].class, parameterTypes.length).asType(INVOKER_TYPE);
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("method not found", e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("cannot access method", e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private record Binding(ThingActions thingActions, MethodHandle invoker) {
+    }
+}
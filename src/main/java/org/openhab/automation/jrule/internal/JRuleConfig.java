@@ -20,6 +20,8 @@ import java.util.Map;
 import java.util.Properties;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.automation.jrule.internal.engine.JRuleSaturationPolicy;
+import org.openhab.automation.jrule.internal.module.JRuleRuleStatusEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,11 +51,25 @@ public class JRuleConfig {
     private static final String EXECUTORS_MAX_PROPERTY = "org.openhab.automation.jrule.engine.executors.max";
     private static final String EXECUTORS_ENABLE_PROPERTY = "org.openhab.automation.jrule.engine.executors.enable";
     private static final String EXECUTORS_THREAD_KEEPALIVE_PROPERTY = "org.openhab.automation.jrule.engine.executors.keepalive";
+    private static final String EXECUTORS_QUEUE_SIZE_PROPERTY = "org.openhab.automation.jrule.engine.executors.queuesize";
+    private static final String EXECUTORS_SATURATION_POLICY_PROPERTY = "org.openhab.automation.jrule.engine.executors.saturationpolicy";
+    private static final String EXECUTORS_VIRTUAL_PROPERTY = "org.openhab.automation.jrule.engine.executors.virtual";
+    private static final String EXECUTORS_MAX_PER_RULE_PROPERTY = "org.openhab.automation.jrule.engine.executors.maxperrule";
+    private static final String EXECUTORS_SERIAL_PROPERTY = "org.openhab.automation.jrule.engine.executors.serial";
+    private static final String RULE_STATUS_EVENTS_PROPERTY = "org.openhab.automation.jrule.engine.rulestatus";
+    private static final String RULE_STATUS_MAX_PER_SECOND_PROPERTY = "org.openhab.automation.jrule.engine.rulestatus.maxpersecond";
 
     private static final int DEFAULT_MIN_EXECUTORS = 2;
     private static final int DEFAULT_MAX_EXECUTORS = 10;
     private static final long DEFAULT_KEEPALIVE_EXECUTORS = 2L;
     private static final boolean DEFAULT_ENABLE_EXECUTORS = true;
+    private static final int DEFAULT_EXECUTORS_QUEUE_SIZE = 0;
+    private static final JRuleSaturationPolicy DEFAULT_EXECUTORS_SATURATION_POLICY = JRuleSaturationPolicy.CALLER_RUNS;
+    private static final boolean DEFAULT_EXECUTORS_VIRTUAL = false;
+    private static final int DEFAULT_EXECUTORS_MAX_PER_RULE = 4;
+    private static final boolean DEFAULT_EXECUTORS_SERIAL = false;
+    private static final JRuleRuleStatusEvents DEFAULT_RULE_STATUS_EVENTS = JRuleRuleStatusEvents.ALL;
+    private static final int DEFAULT_RULE_STATUS_MAX_PER_SECOND = 1;
 
     public static final String RULES_DIR_START = "rules";
     public static final String DEFAULT_RULES_DIR = "org" + File.separator + "openhab" + File.separator + "automation"
@@ -232,6 +248,72 @@ public class JRuleConfig {
         return DEFAULT_MAX_EXECUTORS;
     }
 
+    public int getExecutorsQueueSize() {
+        final String value = getConfigPropertyOrDefaultValue(EXECUTORS_QUEUE_SIZE_PROPERTY,
+                "" + DEFAULT_EXECUTORS_QUEUE_SIZE);
+        try {
+            return Integer.parseInt(value);
+        } catch (Exception x) {
+            logger.error("Failed to load Executors queue size {}", value);
+        }
+        return DEFAULT_EXECUTORS_QUEUE_SIZE;
+    }
+
+    public JRuleSaturationPolicy getExecutorsSaturationPolicy() {
+        final String value = getConfigPropertyOrDefaultValue(EXECUTORS_SATURATION_POLICY_PROPERTY,
+                DEFAULT_EXECUTORS_SATURATION_POLICY.name());
+        try {
+            return JRuleSaturationPolicy.fromConfig(value);
+        } catch (Exception x) {
+            logger.error("Failed to load Executors saturation policy {}", value);
+        }
+        return DEFAULT_EXECUTORS_SATURATION_POLICY;
+    }
+
+    public boolean isVirtualExecutorsEnabled() {
+        final String value = getConfigPropertyOrDefaultValue(EXECUTORS_VIRTUAL_PROPERTY,
+                "" + DEFAULT_EXECUTORS_VIRTUAL);
+        return Boolean.parseBoolean(value);
+    }
+
+    public int getExecutorsMaxPerRule() {
+        final String value = getConfigPropertyOrDefaultValue(EXECUTORS_MAX_PER_RULE_PROPERTY,
+                "" + DEFAULT_EXECUTORS_MAX_PER_RULE);
+        try {
+            return Integer.parseInt(value);
+        } catch (Exception x) {
+            logger.error("Failed to load Executors max per rule {}", value);
+        }
+        return DEFAULT_EXECUTORS_MAX_PER_RULE;
+    }
+
+    public boolean isSerialExecutionEnabled() {
+        final String value = getConfigPropertyOrDefaultValue(EXECUTORS_SERIAL_PROPERTY, "" + DEFAULT_EXECUTORS_SERIAL);
+        return Boolean.parseBoolean(value);
+    }
+
+    public JRuleRuleStatusEvents getRuleStatusEvents() {
+        final String value = getConfigPropertyOrDefaultValue(RULE_STATUS_EVENTS_PROPERTY,
+                DEFAULT_RULE_STATUS_EVENTS.name());
+        try {
+            return JRuleRuleStatusEvents.fromConfig(value);
+        } catch (Exception x) {
+            logger.error("Failed to load rule status events {}", value);
+        }
+        return DEFAULT_RULE_STATUS_EVENTS;
+    }
+
+    public int getRuleStatusMaxPerSecond() {
+        final String value = getConfigPropertyOrDefaultValue(RULE_STATUS_MAX_PER_SECOND_PROPERTY,
+                "" + DEFAULT_RULE_STATUS_MAX_PER_SECOND);
+        try {
+            return Integer.parseInt(value);
+        } catch (Exception x) {
+            logger.error("Failed to load rule status max per second {}", value);
+        }
+        return DEFAULT_RULE_STATUS_MAX_PER_SECOND;
+    }
+
     public String getRulesPackage() {
         String value = getConfigPropertyOrDefaultValue(RULES_PACKAGE_PROPERTY, DEFAULT_RULES_PACKAGE);
         return value.endsWith(".") ? value : value.concat(".");
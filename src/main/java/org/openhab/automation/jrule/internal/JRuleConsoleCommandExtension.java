@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.automation.jrule.internal.engine.JRuleEngine;
+import org.openhab.automation.jrule.internal.engine.JRuleHistogram;
+import org.openhab.automation.jrule.internal.engine.JRuleRuleMetrics;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * The {@link JRuleConsoleCommandExtension} shows the execution metrics of the rules on the openHAB console.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+@NonNullByDefault
+public class JRuleConsoleCommandExtension extends AbstractConsoleCommandExtension {
+    private static final String SUBCMD_METRICS = "metrics";
+    private static final String SUBCMD_METRICS_RESET = "reset";
+    private static final String SUBCMD_EXECUTOR = "executor";
+
+    public JRuleConsoleCommandExtension() {
+        super("jrule", "Java Rule engine metrics.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 0) {
+            printUsage(console);
+            return;
+        }
+        switch (args[0]) {
+            case SUBCMD_METRICS -> {
+                if (args.length > 1 && SUBCMD_METRICS_RESET.equals(args[1])) {
+                    JRuleEngine.get().resetRuleMetrics();
+                    console.println("Rule metrics reset");
+                } else {
+                    printMetrics(console, JRuleEngine.get().getRuleMetrics(), args.length > 1 ? args[1] : "");
+                }
+            }
+            case SUBCMD_EXECUTOR -> {
+                console.println(JRuleEngine.get().getExecutorStatistics().map(Object::toString)
+                        .orElse("Rules are not run by separate executors"));
+                console.println("Coalesced events: " + JRuleEngine.get().getCoalescedEventCount());
+            }
+            default -> printUsage(console);
+        }
+    }
+
+    private void printMetrics(Console console, Map<String, JRuleRuleMetrics.Snapshot> metrics, String filter) {
+        console.println("times in ms: count mean p50 p90 p99 max");
+        metrics.values().stream().filter(snapshot -> snapshot.uid().contains(filter)).forEach(snapshot -> {
+            console.println(snapshot.uid());
+            console.println("  last run: " + (snapshot.lastRun() != null ? snapshot.lastRun() : "never")
+                    + ", errors: " + snapshot.errors());
+            console.println("  match:     " + format(snapshot.matchTime()));
+            console.println("  queue:     " + format(snapshot.queueWait()));
+            console.println("  execution: " + format(snapshot.executionTime()));
+        });
+    }
+
+    private static String format(JRuleHistogram.Snapshot histogram) {
+        return String.format(Locale.ROOT, "%d %.3f %.3f %.3f %.3f %.3f", histogram.count(), millis(histogram.mean()),
+                millis(histogram.p50()), millis(histogram.p90()), millis(histogram.p99()), millis(histogram.max()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(SUBCMD_METRICS + " [<uid filter>]", "show execution metrics of the rules"),
+                buildCommandUsage(SUBCMD_METRICS + " " + SUBCMD_METRICS_RESET, "reset the execution metrics"),
+                buildCommandUsage(SUBCMD_EXECUTOR, "show executor queue, thread and coalescing statistics"));
+    }
+}
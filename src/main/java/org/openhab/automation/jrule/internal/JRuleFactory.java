@@ -79,6 +79,7 @@ public class JRuleFactory {
         jRuleEngine.setConfig(config);
         jRuleEngine.setItemRegistry(itemRegistry);
         jRuleEngine.setCronScheduler(cronScheduler);
+        ruleProvider.setStatusEvents(config.getRuleStatusEvents(), config.getRuleStatusMaxPerSecond());
         jRuleEngine.setRuleProvider(ruleProvider);
 
         jRuleEngine.initialize();
@@ -25,6 +25,9 @@ public class JRuleLog {
     private static final String LOG_FORMAT = "{}{}";
 
     public static void debug(Logger logger, String logPrefix, String message, Object... parameters) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
         final FormattingTuple logMessage = MessageFormatter.arrayFormat(message, parameters);
         logger.debug(LOG_FORMAT, getPrefix(logPrefix, true), logMessage.getMessage());
     }
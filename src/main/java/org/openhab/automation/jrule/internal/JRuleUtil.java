@@ -22,6 +22,8 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -175,6 +177,13 @@ public class JRuleUtil {
     }
 
     public static File createJarFile(String inputDirectory, String targetFile) {
+        return createJarFile(inputDirectory, targetFile, Map.of());
+    }
+
+    /**
+     * Creates a jar of the input directory, adding the classes held in memory by binary name.
+     */
+    public static File createJarFile(String inputDirectory, String targetFile, Map<String, byte[]> classes) {
         try {
             Manifest manifest = new Manifest();
             manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
@@ -183,6 +192,16 @@ public class JRuleUtil {
             for (File nestedFile : inputDir.listFiles()) {
                 add(JRuleConstants.EMPTY, nestedFile, target);
             }
+            for (Map.Entry<String, byte[]> compiledClass : new TreeMap<>(classes).entrySet()) {
+                String name = compiledClass.getKey().replace(".", SEPARATOR) + JRuleConstants.CLASS_FILE_TYPE;
+                if (new File(inputDir, name).exists()) {
+                    // already added from the directory
+                    continue;
+                }
+                target.putNextEntry(new JarEntry(name));
+                target.write(compiledClass.getValue());
+                target.closeEntry();
+            }
             target.close();
         } catch (IOException e) {
             JRuleLog.error(logger, LOG_NAME_UTIL, "Error creating jar", e);
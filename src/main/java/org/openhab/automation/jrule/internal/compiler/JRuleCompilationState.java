@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link JRuleCompilationState} remembers, for every rule source file of the last successful compilation, the
+ * hash of its content, the classes compiled from it and the identifiers used in it. A source depends on another one
+ * when it uses the simple name of one of its classes. This over-approximates the real dependencies, but also
+ * catches references which leave no trace in the class file, like inlined constants.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleCompilationState {
+    private static final Pattern IDENTIFIER = Pattern
+            .compile("\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*");
+    private static final String CLASS_PATH_KEY = "classpath";
+    private static final String SOURCE_PREFIX = "source.";
+
+    private final Map<File, Entry> entries = new HashMap<>();
+    private String classPathFingerprint = "";
+
+    public static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static Set<String> identifiers(String source) {
+        Set<String> identifiers = new HashSet<>();
+        Matcher matcher = IDENTIFIER.matcher(source);
+        while (matcher.find()) {
+            identifiers.add(matcher.group());
+        }
+        return identifiers;
+    }
+
+    /**
+     * @return false if the class path changed since the last compilation, everything has to be compiled again
+     */
+    public synchronized boolean matchesClassPath(String fingerprint) {
+        return classPathFingerprint.equals(fingerprint);
+    }
+
+    public synchronized void setClassPath(String fingerprint) {
+        this.classPathFingerprint = fingerprint;
+    }
+
+    /**
+     * @param currentHashes content hash of every source file which exists now
+     * @return new and changed sources plus all sources depending on a changed or deleted one, transitively
+     */
+    public synchronized Set<File> getAffectedSources(Map<File, String> currentHashes) {
+        Set<File> affected = new LinkedHashSet<>();
+        Deque<File> pending = new ArrayDeque<>();
+        currentHashes.forEach((source, hash) -> {
+            Entry entry = entries.get(source);
+            if (entry == null || !entry.hash().equals(hash)) {
+                affected.add(source);
+                pending.add(source);
+            }
+        });
+        pending.addAll(getDeletedSources(currentHashes.keySet()));
+
+        while (!pending.isEmpty()) {
+            Entry changed = entries.get(pending.poll());
+            if (changed == null) {
+                continue;
+            }
+            Set<String> names = simpleNames(changed.classNames());
+            for (File source : currentHashes.keySet()) {
+                Entry entry = entries.get(source);
+                if (entry != null && !affected.contains(source)
+                        && names.stream().anyMatch(entry.identifiers()::contains)) {
+                    affected.add(source);
+                    pending.add(source);
+                }
+            }
+        }
+        return affected;
+    }
+
+    public synchronized Set<File> getDeletedSources(Collection<File> currentSources) {
+        Set<File> deleted = new LinkedHashSet<>(entries.keySet());
+        deleted.removeAll(currentSources);
+        return deleted;
+    }
+
+    /**
+     * @return binary names of the classes compiled from the source
+     */
+    public synchronized Set<String> getClassNames(File source) {
+        Entry entry = entries.get(source);
+        return entry != null ? entry.classNames() : Set.of();
+    }
+
+    public synchronized void update(File source, String hash, Set<String> identifiers, Set<String> classNames) {
+        entries.put(source, new Entry(hash, Set.copyOf(identifiers), Set.copyOf(classNames)));
+    }
+
+    public synchronized void remove(File source) {
+        entries.remove(source);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        classPathFingerprint = "";
+    }
+
+    /**
+     * @return the state as string properties, without the identifiers, they are read from the sources on restore
+     */
+    public synchronized Map<String, String> toProperties() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(CLASS_PATH_KEY, classPathFingerprint);
+        entries.forEach((source, entry) -> properties.put(SOURCE_PREFIX + source.getPath(),
+                entry.hash() + " " + String.join(",", entry.classNames())));
+        return properties;
+    }
+
+    /**
+     * Restores the state written by {@link #toProperties()}. A source whose class files are gone is given an empty
+     * hash, so that it and its dependents are compiled again.
+     *
+     * @param classFilesExist tells whether the class files of the source still exist
+     */
+    public synchronized void restore(Map<String, String> properties,
+            BiPredicate<File, Set<String>> classFilesExist) {
+        clear();
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            if (CLASS_PATH_KEY.equals(property.getKey())) {
+                classPathFingerprint = property.getValue();
+                continue;
+            }
+            String[] value = property.getValue().split(" ", -1);
+            if (!property.getKey().startsWith(SOURCE_PREFIX) || value.length != 2) {
+                continue;
+            }
+            File source = new File(property.getKey().substring(SOURCE_PREFIX.length()));
+            Set<String> classNames = value[1].isEmpty() ? Set.of() : Set.of(value[1].split(","));
+            String hash = value[0];
+            Set<String> identifiers = Set.of();
+            if (source.isFile()) {
+                try {
+                    identifiers = identifiers(new String(Files.readAllBytes(source.toPath()), StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    hash = "";
+                }
+                if (!classFilesExist.test(source, classNames)) {
+                    hash = "";
+                }
+            }
+            entries.put(source, new Entry(hash, identifiers, classNames));
+        }
+    }
+
+    private static Set<String> simpleNames(Set<String> classNames) {
+        Set<String> names = new HashSet<>();
+        for (String className : classNames) {
+            for (String name : className.substring(className.lastIndexOf('.') + 1).split("\\$")) {
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+
+    private record Entry(String hash, Set<String> identifiers, Set<String> classNames) {
+    }
+}
@@ -12,13 +12,18 @@
  */
 package org.openhab.automation.jrule.internal.compiler;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -27,10 +32,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.stream.Collectors;
@@ -38,15 +48,20 @@ import java.util.stream.Stream;
 
 import javax.tools.Diagnostic;
 import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
 import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
 import javax.tools.ToolProvider;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.jrule.internal.JRuleConfig;
 import org.openhab.automation.jrule.internal.JRuleConstants;
 import org.openhab.automation.jrule.internal.JRuleLog;
-import org.openhab.automation.jrule.internal.JRuleUtil;
+import org.openhab.automation.jrule.internal.engine.JRuleEngine;
 import org.openhab.automation.jrule.rules.JRule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,6 +88,13 @@ public class JRuleCompiler {
     private final Logger logger = LoggerFactory.getLogger(JRuleCompiler.class);
 
     private final JRuleConfig jRuleConfig;
+    private final JRuleCompilationState rulesState = new JRuleCompilationState();
+    // null when every rule class was compiled by the last compileRules
+    private @Nullable Set<String> changedRuleClasses;
+    private volatile Map<String, byte[]> generatedClasses = Map.of();
+    private @Nullable StandardJavaFileManager fileManager;
+    // javac keeps archives open and caches their content, so the file manager is replaced when one of them changed
+    private final Map<String, String> fileManagerArchives = new HashMap<>();
 
     public JRuleCompiler(JRuleConfig jRuleConfig) {
         this.jRuleConfig = jRuleConfig;
@@ -148,7 +170,8 @@ public class JRuleCompiler {
                 logDebug("Not creating and instance of abstract class: {}", className);
             } else if (JRule.class.isAssignableFrom(loadedClass)) {
                 try {
-                    final Object obj = loadedClass.getDeclaredConstructor().newInstance();
+                    final Object obj = JRuleEngine.get().createRuleInstance(className,
+                            () -> loadedClass.getDeclaredConstructor().newInstance());
                     logDebug("Created instance: {} obj: {}", className, obj);
                 } catch (Exception x) {
                     logError(x, "Could not create create instance using default constructor: {}", className);
@@ -188,51 +211,127 @@ public class JRuleCompiler {
     }
 
     public boolean compileGeneratedSource() {
-        return compileGeneratedSource(new File(jRuleConfig.getSourceDirectory()));
+        return compileGeneratedSource(Runnable::run);
     }
 
-    private boolean compileGeneratedSource(File sourceFolder) {
+    /**
+     * Compiles the generated item, thing and action classes. They do not reference each other, so each of them is
+     * compiled by its own compiler task on the given executor.
+     */
+    public boolean compileGeneratedSource(Executor executor) {
+        final File sourceFolder = new File(jRuleConfig.getSourceDirectory());
         final String genClassPath = System.getProperty(JAVA_CLASS_PATH_PROPERTY) + File.pathSeparator
                 + getJarPath(JAR_JRULE_NAME) + ":" + jRuleConfig.getSourceDirectory();
         logDebug("Compiling generated source in folder: {}", sourceFolder.getAbsolutePath());
 
-        List<File> javaSourceFiles = new ArrayList<>();
-        List<File> javaClassFiles = new ArrayList<>();
-
-        try (Stream<Path> paths = Files.walk(Paths.get(sourceFolder.toURI()))) {
-            javaSourceFiles = paths.filter(Files::isRegularFile) // is a file
-                    .filter(f -> f.getFileName().toString().endsWith(JRuleConstants.JAVA_FILE_TYPE)).map(Path::toFile)
-                    .collect(Collectors.toList());
-        } catch (IOException e) {
-            logError(e, "Error listing source files in folder: {}", sourceFolder.getAbsolutePath());
-        }
+        // Classes are compiled to memory, class files left in the folder are outdated
         try (Stream<Path> paths = Files.walk(Paths.get(sourceFolder.toURI()))) {
-            javaClassFiles = paths.filter(Files::isRegularFile) // is a file
-                    .filter(f -> f.getFileName().toString().endsWith(JRuleConstants.CLASS_FILE_TYPE)).map(Path::toFile)
-                    .collect(Collectors.toList());
+            paths.filter(Files::isRegularFile) // is a file
+                    .filter(f -> f.getFileName().toString().endsWith(JRuleConstants.CLASS_FILE_TYPE))
+                    .forEach(f -> f.toFile().delete());
         } catch (IOException e) {
             logError(e, "Error listing class files in folder: {}", sourceFolder.getAbsolutePath());
         }
 
-        Map<String, File> classFiles = new HashMap<>();
-        javaClassFiles.forEach(classFile -> classFiles
-                .put(JRuleUtil.removeExtension(classFile.getName(), JRuleConstants.CLASS_FILE_TYPE), classFile));
+        // Will trigger compilation of all item, thing and action java files referenced by these
+        List<List<File>> units = List.of(
+                List.of(new File(jRuleConfig.getItemsDirectory(), "JRuleItems.java"),
+                        new File(jRuleConfig.getItemsDirectory(), "JRuleItemNames.java")),
+                List.of(new File(jRuleConfig.getThingsDirectory(), "JRuleThings.java")),
+                List.of(new File(jRuleConfig.getActionsDirectory(), "JRuleActions.java")));
+        List<CompletableFuture<Optional<Map<String, byte[]>>>> results = units.stream()
+                .map(unit -> CompletableFuture.supplyAsync(() -> {
+                    Map<String, byte[]> unitClasses = new HashMap<>();
+                    boolean unitCompiled = compile(unit, genClassPath, null, new HashMap<>(), unitClasses, false);
+                    return unitCompiled ? Optional.of(unitClasses) : Optional.<Map<String, byte[]>> empty();
+                }, executor)).toList();
+        Map<String, byte[]> classes = new HashMap<>();
+        boolean compiled = true;
+        for (CompletableFuture<Optional<Map<String, byte[]>>> result : results) {
+            Optional<Map<String, byte[]>> unitClasses = result.join();
+            unitClasses.ifPresent(classes::putAll);
+            compiled &= unitClasses.isPresent();
+        }
+        if (compiled) {
+            generatedClasses = Map.copyOf(classes);
+            logDebug("Compiled {} generated classes to memory", classes.size());
+        }
+        return compiled;
+    }
+
+    /**
+     * @return byte code of the generated item, thing and action classes by binary name, as compiled by the last
+     *         successful {@link #compileGeneratedSource()}
+     */
+    public Map<String, byte[]> getGeneratedClasses() {
+        return generatedClasses;
+    }
+
+    /**
+     * Takes the generated classes from the jar written by an earlier run, instead of compiling them again.
+     *
+     * @return false if the jar could not be read
+     */
+    public boolean restoreGeneratedClasses(File jar) {
+        Map<String, byte[]> classes = new HashMap<>();
+        try (JarFile jarFile = new JarFile(jar)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && entry.getName().endsWith(JRuleConstants.CLASS_FILE_TYPE)) {
+                    String className = entry.getName()
+                            .substring(0, entry.getName().length() - JRuleConstants.CLASS_FILE_TYPE.length())
+                            .replace('/', '.');
+                    try (InputStream in = jarFile.getInputStream(entry)) {
+                        classes.put(className, in.readAllBytes());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logError(e, "Failed to read generated classes from jar: {}", jar.getAbsolutePath());
+            return false;
+        }
+        generatedClasses = Map.copyOf(classes);
+        logDebug("Restored {} generated classes from jar", classes.size());
+        return true;
+    }
 
-        Map<String, File> sourceFiles = new HashMap<>();
-        javaSourceFiles.forEach(sourceFile -> sourceFiles
-                .put(JRuleUtil.removeExtension(sourceFile.getName(), JRuleConstants.JAVA_FILE_TYPE), sourceFile));
+    /**
+     * @return the state of the last rule compilation, to be restored by {@link #restoreRulesState(Map)}
+     */
+    public synchronized Map<String, String> getRulesState() {
+        return rulesState.toProperties();
+    }
 
-        // First delete any class files with no corresponding source file
-        classFiles.keySet().stream().filter(className -> !sourceFiles.containsKey(className))
-                .forEach(className -> classFiles.get(className).delete());
-        // Will trigger compilation of any missing or old item java files
-        return compile(List.of(new File(jRuleConfig.getItemsDirectory(), "JRuleItems.java"),
-                new File(jRuleConfig.getItemsDirectory(), "JRuleItemNames.java"),
-                new File(jRuleConfig.getThingsDirectory(), "JRuleThings.java"),
-                new File(jRuleConfig.getActionsDirectory(), "JRuleActions.java")), genClassPath);
+    /**
+     * Takes over the state of the rule compilation of an earlier run, only rule files changed since then are
+     * compiled by the next {@link #compileRules()}.
+     */
+    public synchronized void restoreRulesState(Map<String, String> state) {
+        rulesState.restore(state, (source, classNames) -> classNames.stream()
+                .allMatch(className -> getClassFile(source, className).isFile()));
     }
 
     public boolean compile(List<File> javaSourceFiles, String classPath) {
+        return compile(javaSourceFiles, classPath, null, new HashMap<>(), null);
+    }
+
+    /**
+     * @param sourcePath where to look for sources of referenced classes, null to look on the class path
+     * @param compiledClasses receives the source file of every class written
+     * @param classOutput receives the byte code instead of class files next to the sources, if not null
+     */
+    private synchronized boolean compile(List<File> javaSourceFiles, String classPath, @Nullable List<File> sourcePath,
+            Map<String, File> compiledClasses, @Nullable Map<String, byte[]> classOutput) {
+        return compile(javaSourceFiles, classPath, sourcePath, compiledClasses, classOutput, true);
+    }
+
+    /**
+     * @param sharedFileManager use the shared file manager, only while holding the lock of this compiler, otherwise
+     *            a file manager of its own, so that several compilations can run concurrently
+     */
+    private boolean compile(List<File> javaSourceFiles, String classPath, @Nullable List<File> sourcePath,
+            Map<String, File> compiledClasses, @Nullable Map<String, byte[]> classOutput, boolean sharedFileManager) {
         final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
         final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
         if (compiler == null) {
@@ -240,7 +339,6 @@ public class JRuleCompiler {
                     "Failed to get compiler, are you sure you are using a JDK? ToolProvider.getSystemJavaCompiler() returned null");
             return false;
         }
-        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
         final List<String> optionList = new ArrayList<>();
         optionList.add(CLASSPATH_OPTION);
         final String openhabCoreJar = getOpenhabCoreJar().map(s -> s + File.pathSeparator).orElse("");
@@ -254,11 +352,25 @@ public class JRuleCompiler {
         javaSourceFiles.stream().filter(javaSourceFile -> javaSourceFile.exists() && javaSourceFile.canRead())
                 .forEach(javaSourceFile -> logDebug("Compiling java Source file: {}", javaSourceFile));
 
-        final Iterable<? extends JavaFileObject> compilationUnit = fileManager
-                .getJavaFileObjectsFromFiles(javaSourceFiles);
-        final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, optionList, null,
-                compilationUnit);
+        StandardJavaFileManager ownFileManager = null;
         try {
+            final StandardJavaFileManager standardFileManager;
+            if (sharedFileManager) {
+                standardFileManager = getFileManager(compiler, cp);
+            } else {
+                ownFileManager = compiler.getStandardFileManager(null, null, null);
+                standardFileManager = ownFileManager;
+            }
+            // the file manager is shared, so the javac default of searching the class path is set explicitly
+            standardFileManager.setLocation(StandardLocation.SOURCE_PATH,
+                    sourcePath != null ? sourcePath
+                            : Arrays.stream(cp.split(File.pathSeparator)).filter(entry -> !entry.isEmpty())
+                                    .map(File::new).filter(File::isDirectory).toList());
+            final Iterable<? extends JavaFileObject> compilationUnit = standardFileManager
+                    .getJavaFileObjectsFromFiles(javaSourceFiles);
+            final JavaCompiler.CompilationTask task = compiler.getTask(null,
+                    new RecordingFileManager(standardFileManager, compiledClasses, classOutput), diagnostics,
+                    optionList, null, compilationUnit);
             if (task.call()) {
                 logDebug("Compilation of classes successfully!");
                 return true;
@@ -269,14 +381,69 @@ public class JRuleCompiler {
                             diagnostic.getMessage(Locale.getDefault()));
                 }
             }
-            fileManager.close();
         } catch (Exception x) {
             logError(x, "Compiler threw error {}");
+        } finally {
+            if (ownFileManager != null) {
+                try {
+                    ownFileManager.close();
+                } catch (IOException e) {
+                    logError(e, "Failed to close file manager");
+                }
+            }
         }
 
         return false;
     }
 
+    private StandardJavaFileManager getFileManager(JavaCompiler compiler, String classPath) throws IOException {
+        Map<String, String> archives = getArchiveStamps(classPath);
+        StandardJavaFileManager current = fileManager;
+        boolean changed = archives.entrySet().stream().anyMatch(archive -> {
+            String known = fileManagerArchives.get(archive.getKey());
+            return known != null && !known.equals(archive.getValue());
+        });
+        if (current == null || changed) {
+            if (current != null) {
+                logDebug("Class path archives changed, creating a new file manager");
+                current.close();
+                fileManagerArchives.clear();
+            }
+            current = compiler.getStandardFileManager(null, null, null);
+            fileManager = current;
+        }
+        fileManagerArchives.putAll(archives);
+        return current;
+    }
+
+    /**
+     * Releases the file manager and the archives it keeps open.
+     */
+    public synchronized void dispose() {
+        StandardJavaFileManager current = fileManager;
+        fileManager = null;
+        fileManagerArchives.clear();
+        rulesState.clear();
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                logError(e, "Failed to close file manager");
+            }
+        }
+    }
+
+    private static Map<String, String> getArchiveStamps(String classPath) {
+        Map<String, String> stamps = new LinkedHashMap<>();
+        for (String entry : classPath.split(File.pathSeparator)) {
+            File file = new File(entry);
+            if (!entry.isEmpty() && file.isFile()) {
+                stamps.put(file.getAbsolutePath(), file.length() + "@" + file.lastModified());
+            }
+        }
+        return stamps;
+    }
+
     private Optional<String> getOpenhabCoreJar() {
         return getOpenHABJar(ORG_OPENHAB_CORE);
     }
@@ -314,11 +481,13 @@ public class JRuleCompiler {
                 .toString();
     }
 
-    public boolean compileRules() {
+    public synchronized boolean compileRules() {
+        changedRuleClasses = null;
         String rulesClassPath = //
                 System.getProperty(JAVA_CLASS_PATH_PROPERTY) + File.pathSeparator //
                         + getJarPath(JAR_JRULE_GENERATED_JAR_NAME) + File.pathSeparator //
-                        + getJarPath(JAR_JRULE_NAME) + File.pathSeparator; //
+                        + getJarPath(JAR_JRULE_NAME) + File.pathSeparator //
+                        + jRuleConfig.getRulesRootDirectory() + File.pathSeparator; //
         String extLibPath = getExtLibPaths();
         logDebug("extLibPath: {}", extLibPath);
         if (extLibPath != null && !extLibPath.isEmpty()) {
@@ -329,12 +498,13 @@ public class JRuleCompiler {
         try (Stream<Path> paths = Files.walk(Paths.get(jRuleConfig.getRulesDirectory()),
                 FileVisitOption.FOLLOW_LINKS)) {
             List<File> ruleJavaFiles = paths.filter(Files::isRegularFile) // is a file
-                    .filter(f -> f.getFileName().toString().endsWith(JRuleConstants.JAVA_FILE_TYPE)).map(Path::toFile)
-                    .collect(Collectors.toList());
+                    .filter(f -> f.getFileName().toString().endsWith(JRuleConstants.JAVA_FILE_TYPE))
+                    .map(f -> f.toFile().getAbsoluteFile()).collect(Collectors.toList());
             if (!ruleJavaFiles.isEmpty()) {
-                return compile(ruleJavaFiles, rulesClassPath);
+                return compileRules(ruleJavaFiles, rulesClassPath);
             } else {
                 logWarn("Found no java rules to compile and use in folder {}", jRuleConfig.getRulesDirectory());
+                removeDeletedRules(List.of());
             }
         } catch (IOException e) {
             logError(e, "Error listing java files in folder: {}", jRuleConfig.getRulesDirectory());
@@ -343,6 +513,91 @@ public class JRuleCompiler {
         return false;
     }
 
+    /**
+     * Compiles only the rule files changed since the last successful compilation and the files depending on them,
+     * all other rule classes are taken from the rules root directory on the class path. Everything is compiled when
+     * the class path changed or the last compilation failed.
+     */
+    private synchronized boolean compileRules(List<File> ruleJavaFiles, String rulesClassPath) throws IOException {
+        Map<File, byte[]> contents = new LinkedHashMap<>();
+        Map<File, String> hashes = new LinkedHashMap<>();
+        for (File ruleJavaFile : ruleJavaFiles) {
+            byte[] content = Files.readAllBytes(ruleJavaFile.toPath());
+            contents.put(ruleJavaFile, content);
+            hashes.put(ruleJavaFile, JRuleCompilationState.hash(content));
+        }
+        String classPathFingerprint = getArchiveStamps(rulesClassPath).toString();
+        boolean incremental = rulesState.matchesClassPath(classPathFingerprint);
+        if (!incremental) {
+            rulesState.clear();
+        }
+        // the dependents of deleted sources are found through their entries, so they are removed afterwards
+        Set<File> affected = rulesState.getAffectedSources(hashes);
+        Set<String> changedClasses = new HashSet<>(removeDeletedRules(ruleJavaFiles));
+        if (affected.isEmpty()) {
+            logInfo("No changed java rules to compile in folder {}", jRuleConfig.getRulesDirectory());
+            changedRuleClasses = changedClasses;
+            return true;
+        }
+        logInfo("Compiling {} of {} java rules", affected.size(), ruleJavaFiles.size());
+
+        Map<String, File> compiledClasses = new HashMap<>();
+        if (!compile(new ArrayList<>(affected), rulesClassPath, List.of(), compiledClasses, null)) {
+            rulesState.clear();
+            return false;
+        }
+        for (File source : affected) {
+            Set<String> classNames = compiledClasses.entrySet().stream()
+                    .filter(compiled -> compiled.getValue().equals(source)).map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            Set<String> removedClassNames = rulesState.getClassNames(source).stream()
+                    .filter(className -> !classNames.contains(className)).collect(Collectors.toSet());
+            deleteClassFiles(source, removedClassNames);
+            changedClasses.addAll(rulesState.getClassNames(source));
+            changedClasses.addAll(classNames);
+            rulesState.update(source, hashes.get(source),
+                    JRuleCompilationState.identifiers(new String(contents.get(source), StandardCharsets.UTF_8)),
+                    classNames);
+        }
+        rulesState.setClassPath(classPathFingerprint);
+        changedRuleClasses = incremental ? changedClasses : null;
+        return true;
+    }
+
+    /**
+     * @return binary names of the rule classes compiled or removed by the last {@link #compileRules()}, empty if
+     *         all rule classes were compiled
+     */
+    public synchronized Optional<Set<String>> getChangedRuleClasses() {
+        return Optional.ofNullable(changedRuleClasses);
+    }
+
+    private Set<String> removeDeletedRules(List<File> ruleJavaFiles) {
+        Set<String> removedClasses = new HashSet<>();
+        for (File deleted : rulesState.getDeletedSources(ruleJavaFiles)) {
+            logDebug("Removing classes of deleted java rule: {}", deleted);
+            removedClasses.addAll(rulesState.getClassNames(deleted));
+            deleteClassFiles(deleted, rulesState.getClassNames(deleted));
+            rulesState.remove(deleted);
+        }
+        return removedClasses;
+    }
+
+    private void deleteClassFiles(File source, Set<String> classNames) {
+        // without an output directory javac writes the class files next to their source
+        for (String className : classNames) {
+            File classFile = getClassFile(source, className);
+            if (classFile.exists() && !classFile.delete()) {
+                logWarn("Failed to delete stale class file: {}", classFile.getAbsolutePath());
+            }
+        }
+    }
+
+    private static File getClassFile(File source, String className) {
+        return new File(source.getParentFile(),
+                className.substring(className.lastIndexOf('.') + 1) + JRuleConstants.CLASS_FILE_TYPE);
+    }
+
     public List<URL> getExtLibsAsUrls() {
         try {
             final File[] extLibsFiles = getExtLibsAsFiles();
@@ -397,6 +652,57 @@ public class JRuleCompiler {
         return extLib.getAbsolutePath().concat(File.pathSeparator);
     }
 
+    /**
+     * Records the source file of every class file javac writes, and keeps the byte code in memory if requested.
+     */
+    private static class RecordingFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, File> compiledClasses;
+        private final @Nullable Map<String, byte[]> classOutput;
+
+        RecordingFileManager(StandardJavaFileManager fileManager, Map<String, File> compiledClasses,
+                @Nullable Map<String, byte[]> classOutput) {
+            super(fileManager);
+            this.compiledClasses = compiledClasses;
+            this.classOutput = classOutput;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                FileObject sibling) throws IOException {
+            if (kind == JavaFileObject.Kind.CLASS && sibling != null && "file".equals(sibling.toUri().getScheme())) {
+                compiledClasses.put(className, new File(sibling.toUri()));
+            }
+            Map<String, byte[]> output = classOutput;
+            if (kind == JavaFileObject.Kind.CLASS && output != null) {
+                return new MemoryClassFile(className, output);
+            }
+            return super.getJavaFileForOutput(location, className, kind, sibling);
+        }
+    }
+
+    private static class MemoryClassFile extends SimpleJavaFileObject {
+        private final String className;
+        private final Map<String, byte[]> output;
+
+        MemoryClassFile(String className, Map<String, byte[]> output) {
+            super(URI.create("mem:///" + className.replace('.', '/') + JavaFileObject.Kind.CLASS.extension),
+                    JavaFileObject.Kind.CLASS);
+            this.className = className;
+            this.output = output;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    output.put(className, toByteArray());
+                }
+            };
+        }
+    }
+
     private static class JRuleFileNameFilter implements FilenameFilter {
 
         private static final JRuleFileNameFilter JAVA_FILTER = new JRuleFileNameFilter(JRuleConstants.JAVA_FILE_TYPE);
@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.jrule.internal.JRuleLog;
+import org.openhab.automation.jrule.rules.JRule;
+import org.openhab.core.types.State;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JRuleStartupCache} is a manifest kept next to the extracted jars, describing the output of the last
+ * run: the stamps of the extracted jars, the models the generated sources were written from and the state of the
+ * rule compilation. It is only used when JRule, openHAB core and Java are of the same version as when it was
+ * written. Files are recorded with their size and modification time and every entry whose file changed since is
+ * ignored, so a manifest left behind by an aborted run only costs work, it never makes outdated output be used.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleStartupCache {
+    public static final String CACHE_FILE_NAME = "jrule-cache.properties";
+    private static final String LOG_NAME_CACHE = "JRuleStartupCache";
+    private static final String VERSIONS_KEY = "versions";
+    private static final String JAR_PREFIX = "jar.";
+    private static final String SEPARATOR = " ";
+
+    private final Logger logger = LoggerFactory.getLogger(JRuleStartupCache.class);
+    private final File file;
+    private final String versions;
+    private final Map<String, String> entries = new TreeMap<>();
+
+    public JRuleStartupCache(File file, String versions) {
+        this.file = file;
+        this.versions = versions;
+    }
+
+    /**
+     * @return the versions of JRule, openHAB core and Java the output depends on
+     */
+    public static String getVersions() {
+        return "jrule=" + getVersion(JRule.class) + ";openhab=" + getVersion(State.class) + ";java="
+                + Runtime.version();
+    }
+
+    private static String getVersion(Class<?> bundleClass) {
+        Bundle bundle = FrameworkUtil.getBundle(bundleClass);
+        if (bundle != null) {
+            // snapshot builds keep their version, an updated bundle has a new modification time
+            return bundle.getSymbolicName() + "@" + bundle.getVersion() + "@" + bundle.getLastModified();
+        }
+        CodeSource codeSource = bundleClass.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return "unknown";
+        }
+        try {
+            File location = new File(codeSource.getLocation().toURI());
+            return location.getAbsolutePath() + "@" + stamp(location);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return codeSource.getLocation().toString();
+        }
+    }
+
+    /**
+     * @return size and modification time of the file, empty if it does not exist
+     */
+    public static String stamp(File file) {
+        return file.isFile() ? file.length() + "@" + file.lastModified() : "";
+    }
+
+    /**
+     * Reads the manifest.
+     *
+     * @return false if there is no manifest or it was written by other versions, the cache is empty then
+     */
+    public synchronized boolean load() {
+        entries.clear();
+        if (!file.isFile()) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            properties.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            JRuleLog.warn(logger, LOG_NAME_CACHE, "Failed to read startup cache {}: {}", file, e.getMessage());
+            return false;
+        }
+        if (!versions.equals(properties.getProperty(VERSIONS_KEY))) {
+            JRuleLog.info(logger, LOG_NAME_CACHE, "Startup cache was written by other versions, not using it");
+            return false;
+        }
+        properties.stringPropertyNames().stream().filter(key -> !VERSIONS_KEY.equals(key))
+                .forEach(key -> entries.put(key, properties.getProperty(key)));
+        return true;
+    }
+
+    /**
+     * Writes the manifest, replacing the previous one atomically.
+     */
+    public synchronized void save() {
+        Properties properties = new Properties();
+        properties.putAll(entries);
+        properties.setProperty(VERSIONS_KEY, versions);
+        File temporary = new File(file.getPath() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary.toPath())) {
+            properties.store(out, "JRule startup cache, delete to rebuild everything");
+        } catch (IOException e) {
+            JRuleLog.warn(logger, LOG_NAME_CACHE, "Failed to write startup cache {}: {}", file, e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            JRuleLog.warn(logger, LOG_NAME_CACHE, "Failed to replace startup cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * @return true if the jar is the one recorded by {@link #putJar(File)}
+     */
+    public synchronized boolean isJarUnchanged(File jar) {
+        String stamp = stamp(jar);
+        return !stamp.isEmpty() && stamp.equals(entries.get(JAR_PREFIX + jar.getAbsolutePath()));
+    }
+
+    public synchronized void putJar(File jar) {
+        put(JAR_PREFIX + jar.getAbsolutePath(), stamp(jar));
+    }
+
+    /**
+     * @return fingerprint by absolute path of the files of the section, only for files not modified since they
+     *         were recorded
+     */
+    public synchronized Map<String, String> getFileFingerprints(String section) {
+        Map<String, String> fingerprints = new HashMap<>();
+        getSection(section).forEach((path, value) -> {
+            int separator = value.indexOf(SEPARATOR);
+            String stamp = stamp(new File(path));
+            if (separator > 0 && !stamp.isEmpty() && value.substring(separator + 1).equals(stamp)) {
+                fingerprints.put(path, value.substring(0, separator));
+            }
+        });
+        return fingerprints;
+    }
+
+    /**
+     * Replaces the section with the fingerprints by absolute path, recording the current stamp of every file.
+     */
+    public synchronized void putFileFingerprints(String section, Map<String, String> fingerprints) {
+        Map<String, String> values = new HashMap<>();
+        fingerprints.forEach((path, fingerprint) -> values.put(path, fingerprint + SEPARATOR + stamp(new File(path))));
+        putSection(section, values);
+    }
+
+    public synchronized Map<String, String> getSection(String section) {
+        String prefix = section + ".";
+        Map<String, String> values = new HashMap<>();
+        entries.forEach((key, value) -> {
+            if (key.startsWith(prefix)) {
+                values.put(key.substring(prefix.length()), value);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Replaces all entries of the section.
+     */
+    public synchronized void putSection(String section, Map<String, String> values) {
+        String prefix = section + ".";
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+        values.forEach((key, value) -> put(prefix + key, value));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private void put(String key, @Nullable String value) {
+        if (value == null || value.isEmpty()) {
+            entries.remove(key);
+        } else {
+            entries.put(key, value);
+        }
+    }
+}
@@ -53,6 +53,8 @@ public class JRuleBuilder {
     private String[] loggingTags = EMPTY_LOG_TAGS;
     private Duration timedLock = null;
     private Duration delayed = null;
+    private boolean serial = false;
+    private Duration coalesce = null;
 
     final private List<PreCondition> preConditions = new ArrayList<>();
 
@@ -100,6 +102,16 @@ public class JRuleBuilder {
         return this;
     }
 
+    public JRuleBuilder serial(boolean serial) {
+        this.serial = serial;
+        return this;
+    }
+
+    public JRuleBuilder coalesce(Duration coalesce) {
+        this.coalesce = coalesce;
+        return this;
+    }
+
     public JRuleBuilder preCondition(String itemName, Condition condition) {
         preConditions.add(new PreCondition(itemName, condition));
         return this;
@@ -168,7 +180,7 @@ public class JRuleBuilder {
         whenThingTriggers.forEach(data -> {
             JRuleThingExecutionContext context = new JRuleThingExecutionContext(uid, logName, loggingTags,
                     invocationCallback, Optional.ofNullable(data.thingName), Optional.ofNullable(data.from),
-                    Optional.ofNullable(data.to), preconditionContexts, timedLock, delayed);
+                    Optional.ofNullable(data.to), preconditionContexts, timedLock, delayed, serial, coalesce);
             jRuleEngine.addToContext(context, enableRule);
             jRuleEngine.ruleLoadingStatistics.addThingTrigger();
             ruleModuleEntry.addJRuleWhenThingTrigger(context);
@@ -178,7 +190,7 @@ public class JRuleBuilder {
         whenChannelTriggers.forEach(data -> {
             JRuleChannelExecutionContext context = new JRuleChannelExecutionContext(uid, logName, loggingTags,
                     invocationCallback, preconditionContexts, data.channelName, Optional.ofNullable(data.event),
-                    timedLock, delayed);
+                    timedLock, delayed, serial, coalesce);
             jRuleEngine.addToContext(context, enableRule);
             jRuleEngine.ruleLoadingStatistics.addChannelTrigger();
             ruleModuleEntry.addJRuleWhenChannelTrigger(context);
@@ -189,7 +201,7 @@ public class JRuleBuilder {
             JRuleItemReceivedCommandExecutionContext context = new JRuleItemReceivedCommandExecutionContext(uid,
                     logName, loggingTags, invocationCallback, data.itemName, data.memberOf,
                     Optional.ofNullable(data.condition).map(Condition::toJRuleConditionContext), preconditionContexts,
-                    Optional.ofNullable(data.command), timedLock, delayed);
+                    Optional.ofNullable(data.command), timedLock, delayed, serial, coalesce);
 
             jRuleEngine.addToContext(context, enableRule);
             jRuleEngine.ruleLoadingStatistics.addItemStateTrigger();
@@ -203,7 +215,7 @@ public class JRuleBuilder {
                     Optional.ofNullable(data.condition).map(Condition::toJRuleConditionContext),
                     Optional.ofNullable(data.previousCondition).map(Condition::toJRuleConditionContext),
                     preconditionContexts, Optional.ofNullable(data.from), Optional.ofNullable(data.to), timedLock,
-                    delayed);
+                    delayed, serial, coalesce);
 
             jRuleEngine.addToContext(context, enableRule);
             jRuleEngine.ruleLoadingStatistics.addItemStateTrigger();
@@ -215,7 +227,7 @@ public class JRuleBuilder {
             JRuleItemReceivedUpdateExecutionContext context = new JRuleItemReceivedUpdateExecutionContext(uid, logName,
                     loggingTags, invocationCallback, data.itemName, data.memberOf,
                     Optional.ofNullable(data.condition).map(Condition::toJRuleConditionContext), preconditionContexts,
-                    Optional.ofNullable(data.state), timedLock, delayed);
+                    Optional.ofNullable(data.state), timedLock, delayed, serial, coalesce);
 
             jRuleEngine.addToContext(context, enableRule);
             jRuleEngine.ruleLoadingStatistics.addItemStateTrigger();
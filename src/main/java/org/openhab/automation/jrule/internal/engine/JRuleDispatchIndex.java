@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleChannelExecutionContext;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleExecutionContext;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleItemExecutionContext;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleThingExecutionContext;
+import org.openhab.automation.jrule.rules.JRuleMemberOf;
+import org.openhab.core.events.AbstractEvent;
+import org.openhab.core.items.events.ItemEvent;
+import org.openhab.core.thing.events.ChannelTriggeredEvent;
+import org.openhab.core.thing.events.ThingStatusInfoChangedEvent;
+
+/**
+ * The {@link JRuleDispatchIndex} is an immutable lookup table from trigger target (item, channel or thing) to the
+ * execution contexts registered for it. The engine builds a new instance whenever the context list changes and only
+ * visits the returned candidates when an event is fired. Candidates are always returned in registration order.
+ * <p>
+ * It also holds the watched item, group, channel and thing names used by the event subscriber to drop events nobody
+ * listens for. Whether an item is watched through one of its parent groups is cached per item until
+ * {@link #invalidateItemMembership()} is called on item registry changes.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public final class JRuleDispatchIndex {
+    private static final int[] NONE = new int[0];
+
+    public static final JRuleDispatchIndex EMPTY = build(List.of());
+
+    private final JRuleExecutionContext[] contexts;
+    private final Map<String, int[]> itemContexts;
+    private final Map<String, int[]> channelContexts;
+    private final Map<String, int[]> thingContexts;
+    private final int[] anyThingContexts;
+    private final int[] unindexedContexts;
+
+    private final Set<String> watchedItems;
+    private final Set<String> watchedGroups;
+    private final Map<String, Boolean> watchedByMembership = new ConcurrentHashMap<>();
+
+    private JRuleDispatchIndex(JRuleExecutionContext[] contexts, Map<String, int[]> itemContexts,
+            Map<String, int[]> channelContexts, Map<String, int[]> thingContexts, int[] anyThingContexts,
+            int[] unindexedContexts, Set<String> watchedItems, Set<String> watchedGroups) {
+        this.contexts = contexts;
+        this.itemContexts = itemContexts;
+        this.channelContexts = channelContexts;
+        this.thingContexts = thingContexts;
+        this.anyThingContexts = anyThingContexts;
+        this.unindexedContexts = unindexedContexts;
+        this.watchedItems = watchedItems;
+        this.watchedGroups = watchedGroups;
+    }
+
+    public static JRuleDispatchIndex build(Collection<JRuleExecutionContext> contextList) {
+        JRuleExecutionContext[] contexts = contextList.toArray(new JRuleExecutionContext[0]);
+        Map<String, List<Integer>> items = new HashMap<>();
+        Map<String, List<Integer>> channels = new HashMap<>();
+        Map<String, List<Integer>> things = new HashMap<>();
+        List<Integer> anyThing = new ArrayList<>();
+        List<Integer> unindexed = new ArrayList<>();
+        Set<String> watchedItems = new HashSet<>();
+        Set<String> watchedGroups = new HashSet<>();
+
+        for (int i = 0; i < contexts.length; i++) {
+            JRuleExecutionContext context = contexts[i];
+            if (context instanceof JRuleItemExecutionContext itemContext) {
+                // memberOf contexts are keyed by their group, which is one of the parent groups of the event item
+                items.computeIfAbsent(itemContext.getItemName(), k -> new ArrayList<>()).add(i);
+                if (itemContext.getMemberOf() == JRuleMemberOf.None) {
+                    watchedItems.add(itemContext.getItemName());
+                } else {
+                    watchedGroups.add(itemContext.getItemName());
+                }
+            } else if (context instanceof JRuleChannelExecutionContext channelContext) {
+                channels.computeIfAbsent(channelContext.getChannel(), k -> new ArrayList<>()).add(i);
+            } else if (context instanceof JRuleThingExecutionContext thingContext) {
+                if (thingContext.getThing().isPresent()) {
+                    things.computeIfAbsent(thingContext.getThing().get(), k -> new ArrayList<>()).add(i);
+                } else {
+                    anyThing.add(i);
+                }
+            } else {
+                unindexed.add(i);
+            }
+        }
+
+        return new JRuleDispatchIndex(contexts, toPositions(items), toPositions(channels), toPositions(things),
+                toArray(anyThing), toArray(unindexed), Set.copyOf(watchedItems), Set.copyOf(watchedGroups));
+    }
+
+    /**
+     * @param itemName name of the item
+     * @param parentGroupsResolver resolves the direct parent groups of an item, only called on a cache miss
+     * @return true if a context triggers on the item itself or on one of its parent groups
+     */
+    public boolean watchingForItem(String itemName,
+            Function<String, ? extends Collection<String>> parentGroupsResolver) {
+        if (watchedItems.contains(itemName)) {
+            return true;
+        }
+        if (watchedGroups.isEmpty()) {
+            return false;
+        }
+        Boolean watched = watchedByMembership.get(itemName);
+        if (watched == null) {
+            watched = parentGroupsResolver.apply(itemName).stream().anyMatch(watchedGroups::contains);
+            watchedByMembership.put(itemName, watched);
+        }
+        return watched;
+    }
+
+    public boolean watchingForChannel(String channel) {
+        return channelContexts.containsKey(channel);
+    }
+
+    public boolean watchingForThing(String thing) {
+        return anyThingContexts.length > 0 || thingContexts.containsKey(thing);
+    }
+
+    /**
+     * Drops the cached group membership lookups, needs to be called when items are added, updated or removed.
+     */
+    public void invalidateItemMembership() {
+        watchedByMembership.clear();
+    }
+
+    /**
+     * Collects the contexts that may match the given event, in registration order and without duplicates. The
+     * returned contexts still have to be checked with {@link JRuleExecutionContext#match}.
+     *
+     * @param event the fired event
+     * @param parentGroups the direct parent groups of the event item, empty for non item events
+     * @return candidate contexts
+     */
+    public List<JRuleExecutionContext> getCandidates(AbstractEvent event, Collection<String> parentGroups) {
+        if (event instanceof ItemEvent itemEvent) {
+            int[] direct = itemContexts.getOrDefault(itemEvent.getItemName(), NONE);
+            if (parentGroups.isEmpty()) {
+                return collect(direct, unindexedContexts);
+            }
+            int[][] parts = new int[parentGroups.size() + 2][];
+            parts[0] = direct;
+            parts[1] = unindexedContexts;
+            int i = 2;
+            for (String parentGroup : parentGroups) {
+                parts[i++] = itemContexts.getOrDefault(parentGroup, NONE);
+            }
+            return collect(parts);
+        } else if (event instanceof ChannelTriggeredEvent channelEvent) {
+            return collect(channelContexts.getOrDefault(channelEvent.getChannel().getAsString(), NONE),
+                    unindexedContexts);
+        } else if (event instanceof ThingStatusInfoChangedEvent thingEvent) {
+            return collect(thingContexts.getOrDefault(thingEvent.getThingUID().toString(), NONE), anyThingContexts,
+                    unindexedContexts);
+        }
+        return collect(unindexedContexts);
+    }
+
+    public int size() {
+        return contexts.length;
+    }
+
+    private List<JRuleExecutionContext> collect(int[]... parts) {
+        int total = 0;
+        int nonEmpty = 0;
+        int[] single = NONE;
+        for (int[] part : parts) {
+            if (part.length > 0) {
+                total += part.length;
+                nonEmpty++;
+                single = part;
+            }
+        }
+        if (total == 0) {
+            return List.of();
+        }
+        int[] positions;
+        if (nonEmpty == 1) {
+            positions = single;
+        } else {
+            positions = new int[total];
+            int offset = 0;
+            for (int[] part : parts) {
+                System.arraycopy(part, 0, positions, offset, part.length);
+                offset += part.length;
+            }
+            Arrays.sort(positions);
+        }
+        List<JRuleExecutionContext> result = new ArrayList<>(positions.length);
+        int last = -1;
+        for (int position : positions) {
+            if (position != last) {
+                result.add(contexts[position]);
+                last = position;
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, int[]> toPositions(Map<String, List<Integer>> source) {
+        Map<String, int[]> target = new HashMap<>(Math.max(16, source.size() * 2));
+        source.forEach((key, value) -> target.put(key, toArray(value)));
+        return target;
+    }
+
+    private static int[] toArray(List<Integer> source) {
+        return source.isEmpty() ? NONE : source.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -14,42 +14,50 @@ package org.openhab.automation.jrule.internal.engine;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.openhab.automation.jrule.exception.JRuleItemNotFoundException;
-import org.openhab.automation.jrule.exception.JRuleRuntimeException;
 import org.openhab.automation.jrule.internal.JRuleConfig;
 import org.openhab.automation.jrule.internal.JRuleLog;
-import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleChannelExecutionContext;
 import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleExecutionContext;
 import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleItemExecutionContext;
-import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleThingExecutionContext;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleMdcSnapshot;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRulePreconditionContext;
 import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleTimedExecutionContext;
 import org.openhab.automation.jrule.internal.engine.timer.JRuleTimerExecutor;
 import org.openhab.automation.jrule.internal.events.JRuleEventSubscriber;
+import org.openhab.automation.jrule.internal.handler.JRuleEventHandler;
+import org.openhab.automation.jrule.internal.handler.JRuleGroupGraph;
 import org.openhab.automation.jrule.internal.handler.JRuleTimerHandler;
 import org.openhab.automation.jrule.internal.module.JRuleModuleEntry;
 import org.openhab.automation.jrule.internal.module.JRuleRuleProvider;
+import org.openhab.automation.jrule.items.JRuleItem;
 import org.openhab.automation.jrule.rules.JRule;
+import org.openhab.automation.jrule.rules.JRuleCoalesce;
 import org.openhab.automation.jrule.rules.JRuleCondition;
 import org.openhab.automation.jrule.rules.JRuleDebounce;
 import org.openhab.automation.jrule.rules.JRuleDelayed;
@@ -57,6 +65,7 @@ import org.openhab.automation.jrule.rules.JRuleLogName;
 import org.openhab.automation.jrule.rules.JRuleMemberOf;
 import org.openhab.automation.jrule.rules.JRuleName;
 import org.openhab.automation.jrule.rules.JRulePrecondition;
+import org.openhab.automation.jrule.rules.JRuleSerial;
 import org.openhab.automation.jrule.rules.JRuleTag;
 import org.openhab.automation.jrule.rules.JRuleWhenChannelTrigger;
 import org.openhab.automation.jrule.rules.JRuleWhenCronTrigger;
@@ -66,19 +75,19 @@ import org.openhab.automation.jrule.rules.JRuleWhenItemReceivedUpdate;
 import org.openhab.automation.jrule.rules.JRuleWhenThingTrigger;
 import org.openhab.automation.jrule.rules.JRuleWhenTimeTrigger;
 import org.openhab.automation.jrule.rules.event.JRuleEvent;
+import org.openhab.automation.jrule.rules.event.JRuleItemEvent;
 import org.openhab.automation.jrule.things.JRuleThingStatus;
 import org.openhab.core.events.AbstractEvent;
-import org.openhab.core.items.GroupItem;
+import org.openhab.core.events.Event;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.events.ItemEvent;
-import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.core.scheduler.CronScheduler;
+import org.openhab.core.types.State;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 /**
  * The {@link JRuleEngine}
@@ -91,9 +100,20 @@ public class JRuleEngine implements PropertyChangeListener {
     public static final String[] EMPTY_LOG_TAGS = new String[0];
     private static final int AWAIT_TERMINATION_THREAD_SECONDS = 2;
     private final List<JRuleExecutionContext> contextList = new CopyOnWriteArrayList<>();
+    // Rebuilt lazily from contextList, null means the index is outdated
+    private volatile JRuleDispatchIndex dispatchIndex = JRuleDispatchIndex.EMPTY;
+    // Contexts added while creating an instance of a rule class, by class name
+    private final Map<String, List<JRuleExecutionContext>> ruleClassContexts = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> loadingRuleClass = new ThreadLocal<>();
+    // Set while rule classes are being replaced, new contexts are collected here instead of going live one by one
+    private final ThreadLocal<List<JRuleExecutionContext>> stagedContexts = new ThreadLocal<>();
     private final JRuleTimerExecutor timerExecutor = new JRuleTimerExecutor(this);
     public static final String MDC_KEY_RULE = "rule";
-    protected ThreadPoolExecutor ruleExecutorService;
+    protected JRuleRuleExecutor ruleExecutorService;
+    private final JRuleRuleLanes serialLanes = new JRuleRuleLanes(1);
+    private final JRuleEventCoalescer eventCoalescer = new JRuleEventCoalescer();
+    // by execution context uid, kept when rules are reloaded
+    private final Map<String, JRuleRuleMetrics> ruleMetrics = new ConcurrentHashMap<>();
     protected JRuleConfig config;
     private final Logger logger = LoggerFactory.getLogger(JRuleEngine.class);
     protected ItemRegistry itemRegistry;
@@ -184,9 +204,15 @@ public class JRuleEngine implements PropertyChangeListener {
                 .filter(jRuleDelayed -> jRuleDelayed.value() > 0)
                 .map(jRuleDebounce -> Duration.of(jRuleDebounce.value(), jRuleDebounce.unit())).orElse(null);
 
+        Duration coalesce = Optional.ofNullable(method.getDeclaredAnnotation(JRuleCoalesce.class))
+                .filter(jRuleCoalesce -> jRuleCoalesce.value() > 0)
+                .map(jRuleCoalesce -> Duration.of(jRuleCoalesce.value(), jRuleCoalesce.unit())).orElse(null);
+
         jRuleBuilder.enableRule(enableRule);
         jRuleBuilder.timedLock(timedLock);
         jRuleBuilder.delayed(delayed);
+        jRuleBuilder.serial(method.isAnnotationPresent(JRuleSerial.class));
+        jRuleBuilder.coalesce(coalesce);
 
         Arrays.stream(method.getAnnotationsByType(JRuleWhenItemReceivedUpdate.class))
                 .forEach(jRuleWhen -> jRuleBuilder.whenItemReceivedUpdate(jRuleWhen.item(), jRuleWhen.memberOf(),
@@ -235,90 +261,151 @@ public class JRuleEngine implements PropertyChangeListener {
     boolean addToContext(JRuleExecutionContext context, boolean enableRule) {
         logDebug("add to context: {}", context);
         context.setEnabled(enableRule);
-        if (context instanceof JRuleTimedExecutionContext) {
+        String ruleClass = loadingRuleClass.get();
+        if (ruleClass != null) {
+            ruleClassContexts.computeIfAbsent(ruleClass, name -> new CopyOnWriteArrayList<>()).add(context);
+        }
+        List<JRuleExecutionContext> staged = stagedContexts.get();
+        if (staged != null) {
+            staged.add(context);
+        } else if (context instanceof JRuleTimedExecutionContext) {
             timerExecutor.add(context);
         } else {
-            contextList.add(context);
+            synchronized (this) {
+                contextList.add(context);
+                dispatchIndex = null;
+            }
         }
 
         return true;
     }
 
+    /**
+     * Creates an instance of a rule class. The rules it adds are remembered for the class, so they can be replaced
+     * on their own by {@link #replaceRuleClasses(Set, Runnable)}.
+     */
+    public <T> T createRuleInstance(String ruleClassName, Callable<T> constructor) throws Exception {
+        String previous = loadingRuleClass.get();
+        loadingRuleClass.set(ruleClassName);
+        try {
+            return constructor.call();
+        } finally {
+            if (previous == null) {
+                loadingRuleClass.remove();
+            } else {
+                loadingRuleClass.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Replaces the rules of the given classes by the rules added while running the loader. The old rules keep
+     * firing until the new ones are complete, then both are swapped with a single dispatch index update. Rules of
+     * other classes are not touched.
+     */
+    public void replaceRuleClasses(Set<String> ruleClassNames, Runnable loader) {
+        List<JRuleExecutionContext> replaced = new ArrayList<>();
+        ruleClassNames.forEach(ruleClassName -> Optional.ofNullable(ruleClassContexts.remove(ruleClassName))
+                .ifPresent(replaced::addAll));
+        ruleLoadingStatistics = new JRuleLoadingStatistics(ruleLoadingStatistics);
+
+        List<JRuleExecutionContext> staged = new ArrayList<>();
+        stagedContexts.set(staged);
+        try {
+            loader.run();
+        } finally {
+            stagedContexts.remove();
+        }
+
+        Set<JRuleExecutionContext> removed = new HashSet<>(replaced);
+        synchronized (this) {
+            List<JRuleExecutionContext> next = new ArrayList<>(contextList);
+            next.removeIf(removed::contains);
+            staged.stream().filter(context -> !(context instanceof JRuleTimedExecutionContext)).forEach(next::add);
+            JRuleDispatchIndex index = JRuleDispatchIndex.build(next);
+            contextList.clear();
+            contextList.addAll(next);
+            dispatchIndex = index;
+        }
+        replaced.stream().filter(JRuleTimedExecutionContext.class::isInstance).forEach(timerExecutor::remove);
+        staged.stream().filter(JRuleTimedExecutionContext.class::isInstance).forEach(timerExecutor::add);
+
+        Set<String> stagedUids = new HashSet<>();
+        staged.forEach(context -> stagedUids.add(context.getUid()));
+        replaced.stream().map(JRuleExecutionContext::getUid).filter(uid -> !stagedUids.contains(uid)).distinct()
+                .forEach(ruleProvider::remove);
+        logDebug("replaced {} contexts of {} rule classes by {} contexts", replaced.size(), ruleClassNames.size(),
+                staged.size());
+    }
+
     public void fire(AbstractEvent event) {
         JRuleItemExecutionContext.JRuleAdditionalItemCheckData additionalCheckData = getAdditionalCheckData(event);
 
-        List<JRuleExecutionContext> matchingExecutionContexts = contextList.stream()
-                .filter(context -> context.match(event, additionalCheckData)).filter(this::matchPrecondition)
+        List<JRuleExecutionContext> matchingExecutionContexts = getDispatchIndex()
+                .getCandidates(event, additionalCheckData.getBelongingGroups()).stream()
+                .filter(context -> match(context, event, additionalCheckData))
                 .filter(distinctByKey(JRuleExecutionContext::getUid)).toList();
         matchingExecutionContexts.forEach(context -> invokeRule(context, context.createJRuleEvent(event)));
     }
 
+    JRuleDispatchIndex getDispatchIndex() {
+        JRuleDispatchIndex index = dispatchIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = dispatchIndex;
+                if (index == null) {
+                    index = JRuleDispatchIndex.build(contextList);
+                    dispatchIndex = index;
+                    logDebug("rebuilt dispatch index with {} contexts", index.size());
+                }
+            }
+        }
+        return index;
+    }
+
     public static <T> Predicate<T> distinctByKey(Function<? super T, ?> keyExtractor) {
         Map<Object, Boolean> seen = new ConcurrentHashMap<>();
         return t -> seen.putIfAbsent(keyExtractor.apply(t), Boolean.TRUE) == null;
     }
 
     private JRuleItemExecutionContext.JRuleAdditionalItemCheckData getAdditionalCheckData(AbstractEvent event) {
-        return Optional.ofNullable(event instanceof ItemEvent ? ((ItemEvent) event).getItemName() : null).map(s -> {
-            try {
-                return itemRegistry.getItem(s);
-            } catch (ItemNotFoundException e) {
-                throw new IllegalStateException("this can never occur", e);
-            }
-        }).map(item -> new JRuleItemExecutionContext.JRuleAdditionalItemCheckData(item.getType().equals(GroupItem.TYPE),
-                item.getGroupNames()))
-                .orElse(new JRuleItemExecutionContext.JRuleAdditionalItemCheckData(false, List.of()));
+        if (event instanceof ItemEvent itemEvent) {
+            JRuleGroupGraph groupGraph = JRuleEventHandler.get().getGroupGraph();
+            String itemName = itemEvent.getItemName();
+            return new JRuleItemExecutionContext.JRuleAdditionalItemCheckData(groupGraph.isGroup(itemName),
+                    groupGraph.getParentGroups(itemName));
+        }
+        return JRuleItemExecutionContext.JRuleAdditionalItemCheckData.NONE;
     }
 
-    private Item getItem(String name) {
-        try {
-            return itemRegistry.getItem(name);
-        } catch (ItemNotFoundException e) {
-            throw new JRuleRuntimeException(String.format("cannot find item: %s", name), e);
-        }
+    private boolean match(JRuleExecutionContext context, AbstractEvent event,
+            JRuleItemExecutionContext.JRuleAdditionalItemCheckData additionalCheckData) {
+        long start = System.nanoTime();
+        boolean matched = context.match(event, additionalCheckData) && matchPrecondition(context);
+        getMetrics(context).recordMatch(System.nanoTime() - start);
+        return matched;
     }
 
     public boolean matchPrecondition(JRuleExecutionContext jRuleExecutionContext) {
-        return jRuleExecutionContext.getPreconditionContextList().stream().allMatch(context -> {
+        for (JRulePreconditionContext context : jRuleExecutionContext.getPreconditionContextList()) {
             final Item item;
             try {
                 item = itemRegistry.getItem(context.getItem());
             } catch (ItemNotFoundException e) {
                 throw new JRuleItemNotFoundException("Cannot find item for precondition", e);
             }
-            final String state = item.getState().toString();
-            if (context.getEq().isPresent() && context.getEq().filter(state::equals).isEmpty()) {
-                logDebug("precondition mismatch: {} = {}", state, context.getEq().get());
-                return false;
-            }
-            if (context.getNeq().isPresent() && context.getNeq().filter(ref -> !state.equals(ref)).isEmpty()) {
-                logDebug("precondition mismatch: {} != {}", state, context.getNeq().get());
-                return false;
-            }
-            if (context.getLt().isPresent()
-                    && context.getLt().filter(ref -> QuantityType.valueOf(state).doubleValue() < ref).isEmpty()) {
-                logDebug("precondition mismatch: {} < {}", state, context.getLt().get());
-                return false;
-            }
-            if (context.getLte().isPresent()
-                    && context.getLte().filter(ref -> QuantityType.valueOf(state).doubleValue() <= ref).isEmpty()) {
-                logDebug("precondition mismatch: {} <= {}", state, context.getLte().get());
+            final State state = item.getState();
+            if (!context.matches(state)) {
+                if (logger.isDebugEnabled()) {
+                    logDebug("precondition mismatch: {} for {}", state, context);
+                }
                 return false;
             }
-            if (context.getGt().isPresent()
-                    && context.getGt().filter(ref -> QuantityType.valueOf(state).doubleValue() > ref).isEmpty()) {
-                logDebug("precondition mismatch: {} > {}", state, context.getGt().get());
-                return false;
+            if (logger.isDebugEnabled()) {
+                logDebug("precondition match: {} matches {}", state, context);
             }
-            if (context.getGte().isPresent()
-                    && context.getGte().filter(ref -> QuantityType.valueOf(state).doubleValue() >= ref).isEmpty()) {
-                logDebug("precondition mismatch: {} >= {}", state, context.getGte().get());
-                return false;
-            }
-
-            logDebug("precondition match: {} matches {}", state, context);
-            return true;
-        });
+        }
+        return true;
     }
 
     @Override
@@ -327,11 +414,17 @@ public class JRuleEngine implements PropertyChangeListener {
                 || evt.getPropertyName().equals(JRuleEventSubscriber.PROPERTY_CHANNEL_EVENT)
                 || evt.getPropertyName().equals(JRuleEventSubscriber.PROPERTY_THING_STATUS_EVENT)) {
             fire((AbstractEvent) evt.getNewValue());
+        } else if (evt.getPropertyName().equals(JRuleEventSubscriber.PROPERTY_ITEM_REGISTRY_EVENT)) {
+            // group memberships may have changed
+            JRuleEventHandler.get().getGroupGraph().handleEvent((Event) evt.getNewValue());
+            getDispatchIndex().invalidateItemMembership();
         }
     }
 
     public void dispose() {
+        eventCoalescer.shutdown();
         if (config.isExecutorsEnabled()) {
+            serialLanes.clear();
             ruleExecutorService.shutdownNow();
             try {
                 ruleExecutorService.awaitTermination(AWAIT_TERMINATION_THREAD_SECONDS, TimeUnit.SECONDS);
@@ -343,7 +436,11 @@ public class JRuleEngine implements PropertyChangeListener {
 
     public synchronized void reset() {
         contextList.clear();
+        ruleClassContexts.clear();
+        dispatchIndex = JRuleDispatchIndex.EMPTY;
+        eventCoalescer.clear();
         timerExecutor.clear();
+        JRuleEventHandler.get().getGroupGraph().clear();
 
         ruleLoadingStatistics = new JRuleLoadingStatistics(ruleLoadingStatistics);
         ruleProvider.reset();
@@ -354,34 +451,38 @@ public class JRuleEngine implements PropertyChangeListener {
             // JRuleEngine not completely initialized
             return false;
         }
-        List<String> parentGroups = Optional.of(itemName).map(this::getItem).map(Item::getGroupNames).orElse(List.of());
-
-        boolean b = this.contextList.stream().filter(context -> context instanceof JRuleItemExecutionContext)
-                .map(context -> ((JRuleItemExecutionContext) context))
-                .anyMatch(context -> (context.getItemName().equals(itemName)
-                        && context.getMemberOf() == JRuleMemberOf.None)
-                        || (parentGroups.contains(context.getItemName())
-                                && context.getMemberOf() != JRuleMemberOf.None));
+        JRuleGroupGraph groupGraph = JRuleEventHandler.get().getGroupGraph();
+        boolean b = getDispatchIndex().watchingForItem(itemName, groupGraph::getParentGroups);
         logDebug("watching for item: '{}'? -> {}", itemName, b);
         return b;
     }
 
     public boolean watchingForChannel(String channel) {
-        boolean b = this.contextList.stream().filter(context -> context instanceof JRuleChannelExecutionContext)
-                .map(context -> ((JRuleChannelExecutionContext) context))
-                .anyMatch(context -> context.getChannel().equals(channel));
+        boolean b = getDispatchIndex().watchingForChannel(channel);
         logDebug("watching for channel: '{}'? -> {}", channel, b);
         return b;
     }
 
     public boolean watchingForThing(String thing) {
-        boolean b = this.contextList.stream().filter(context -> context instanceof JRuleThingExecutionContext)
-                .map(context -> ((JRuleThingExecutionContext) context))
-                .anyMatch(context -> context.getThing().map(s -> s.equals(thing)).orElse(true));
+        boolean b = getDispatchIndex().watchingForThing(thing);
         logDebug("watching for thing: '{}'? -> {}", thing, b);
         return b;
     }
 
+    /**
+     * @return executor queue and thread statistics, empty if rules are not run in separate threads
+     */
+    public Optional<JRuleRuleExecutor.Statistics> getExecutorStatistics() {
+        return Optional.ofNullable(ruleExecutorService).map(JRuleRuleExecutor::getStatistics);
+    }
+
+    /**
+     * @return number of events of {@link JRuleCoalesce} rules replaced by a newer one before they were delivered
+     */
+    public long getCoalescedEventCount() {
+        return eventCoalescer.getCoalescedCount();
+    }
+
     public void setCronScheduler(CronScheduler cronScheduler) {
         this.timerExecutor.setCronScheduler(cronScheduler);
     }
@@ -390,6 +491,39 @@ public class JRuleEngine implements PropertyChangeListener {
         return this.ruleLoadingStatistics;
     }
 
+    /**
+     * @return execution metrics by execution context uid, of every rule which was matched or run since the metrics
+     *         were reset
+     */
+    public Map<String, JRuleRuleMetrics.Snapshot> getRuleMetrics() {
+        Map<String, JRuleRuleMetrics.Snapshot> snapshots = new TreeMap<>();
+        ruleMetrics.forEach((uid, metrics) -> snapshots.put(uid, metrics.snapshot()));
+        return snapshots;
+    }
+
+    public Optional<JRuleRuleMetrics.Snapshot> getRuleMetrics(String uid) {
+        return Optional.ofNullable(ruleMetrics.get(uid)).map(JRuleRuleMetrics::snapshot);
+    }
+
+    public void resetRuleMetrics() {
+        ruleMetrics.clear();
+    }
+
+    private JRuleRuleMetrics getMetrics(JRuleExecutionContext context) {
+        JRuleRuleMetrics metrics = ruleMetrics.get(context.getUid());
+        return metrics != null ? metrics : ruleMetrics.computeIfAbsent(context.getUid(), JRuleRuleMetrics::new);
+    }
+
+    /**
+     * Counts an error of the rule run by the current thread, for errors the rule method reports itself.
+     */
+    private void recordRuleError() {
+        JRuleExecutionContext context = JRule.JRULE_EXECUTION_CONTEXT.get();
+        if (context != null) {
+            getMetrics(context).recordError();
+        }
+    }
+
     protected void logInfo(String message, Object... parameters) {
         JRuleLog.info(logger, JRuleEngine.class.getSimpleName(), message, parameters);
     }
@@ -415,9 +549,14 @@ public class JRuleEngine implements PropertyChangeListener {
     }
 
     public void initialize() {
-        if (config.isExecutorsEnabled()) {
-            logInfo("Initializing Java Rule Engine with Separate Thread Executors min: {} max: {}",
-                    config.getMinExecutors(), config.getMaxExecutors());
+        if (config.isExecutorsEnabled() && config.isVirtualExecutorsEnabled()) {
+            logInfo("Initializing Java Rule Engine with Virtual Thread Executors, max per rule: {}",
+                    config.getExecutorsMaxPerRule());
+            ruleExecutorService = new JRuleVirtualRuleExecutor(config.getExecutorsMaxPerRule());
+        } else if (config.isExecutorsEnabled()) {
+            logInfo("Initializing Java Rule Engine with Separate Thread Executors min: {} max: {} queue: {} policy: {}",
+                    config.getMinExecutors(), config.getMaxExecutors(), config.getExecutorsQueueSize(),
+                    config.getExecutorsSaturationPolicy());
             final ThreadFactory ruleExecutorThreadFactory = new ThreadFactory() {
                 private final AtomicLong threadIndex = new AtomicLong(0);
 
@@ -430,9 +569,9 @@ public class JRuleEngine implements PropertyChangeListener {
             };
 
             // Keep unused threads for 2 minutes before scaling back
-            ruleExecutorService = new ThreadPoolExecutor(config.getMinExecutors(), config.getMaxExecutors(),
-                    config.getKeepAliveExecutors(), TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
-                    ruleExecutorThreadFactory);
+            ruleExecutorService = new JRulePooledRuleExecutor(config.getMinExecutors(), config.getMaxExecutors(),
+                    config.getKeepAliveExecutors(), config.getExecutorsQueueSize(),
+                    config.getExecutorsSaturationPolicy(), ruleExecutorThreadFactory);
         } else {
             logInfo("Initializing Java Rule Engine with Single Thread Execution");
         }
@@ -440,55 +579,115 @@ public class JRuleEngine implements PropertyChangeListener {
 
     public void invokeRule(JRuleExecutionContext context, JRuleEvent event) {
         if (context.isEnabled()) {
-            if (config.isExecutorsEnabled()) {
-                ruleExecutorService.submit(() -> invokeDelayed(context, event,
-                        (jRuleExecutionContext, jRuleEvent) -> invokeRuleInternal(context, event)));
+            if (context.getCoalesce() != null) {
+                eventCoalescer.offer(getCoalesceKey(context, event), event, context.getCoalesce(),
+                        (latestEvent, completion) -> dispatchRule(context, latestEvent, completion));
             } else {
-                invokeDelayed(context, event,
-                        (jRuleExecutionContext, jRuleEvent) -> invokeRuleInternal(context, event));
+                dispatchRule(context, event, () -> {
+                });
             }
-        } else {
+        } else if (logger.isDebugEnabled()) {
             JRuleLog.debug(logger, context.getLogName(), "Not invoking rule because context {} is disabled", context);
+        }
+    }
 
+    private void dispatchRule(JRuleExecutionContext context, JRuleEvent event, Runnable completion) {
+        long dispatched = System.nanoTime();
+        if (config.isExecutorsEnabled()) {
+            if (context.isSerial() || config.isSerialExecutionEnabled()) {
+                // the lane hands each invocation to the executor only after the previous one finished, a delayed
+                // invocation holds the lane until its timer has run the rule
+                serialLanes.submit(context.getUid(), done -> invokeDelayed(context, event, () -> {
+                    try {
+                        completion.run();
+                    } finally {
+                        done.run();
+                    }
+                }, dispatched), task -> ruleExecutorService.execute(context.getUid(), event, e -> task.run(), false));
+            } else {
+                // a coalesced delivery has to complete, otherwise its coalescing slot is never released
+                ruleExecutorService.execute(context.getUid(), event,
+                        latestEvent -> invokeDelayed(context, latestEvent, completion, dispatched),
+                        context.getCoalesce() == null);
+            }
+        } else {
+            invokeDelayed(context, event, completion, dispatched);
         }
     }
 
+    private static String getCoalesceKey(JRuleExecutionContext context, JRuleEvent event) {
+        if (event instanceof JRuleItemEvent itemEvent) {
+            JRuleItem item = itemEvent.getMemberItem() != null ? itemEvent.getMemberItem() : itemEvent.getItem();
+            if (item != null) {
+                return context.getUid() + "/" + item.getName();
+            }
+        }
+        return context.getUid();
+    }
+
     private void invokeRuleInternal(JRuleExecutionContext context, JRuleEvent event) {
         Duration timedLock = context.getTimedLock();
         if (timedLock != null) {
             if (!JRuleTimerHandler.get().getTimeLock(context.getUid(), timedLock)) {
-                JRuleLog.debug(logger, context.getLogName(),
-                        "Not invoking rule because method has an active debounce lock (context={})", context);
+                if (logger.isDebugEnabled()) {
+                    JRuleLog.debug(logger, context.getLogName(),
+                            "Not invoking rule because method has an active debounce lock (context={})", context);
+                }
                 return;
             }
         }
 
-        JRuleLog.debug(logger, context.getLogName(), "Invoking rule for context: {}", context);
+        JRuleMdcSnapshot mdcSnapshot = context.getMdcSnapshot();
+        if (logger.isDebugEnabled()) {
+            JRuleLog.debug(logger, context.getLogName(), "Invoking rule for context: {}, mdc: {}", context,
+                    mdcSnapshot.getEntries());
+        }
 
+        JRuleRuleMetrics metrics = getMetrics(context);
+        metrics.recordStart();
+        long start = System.nanoTime();
+        Map<String, String> previousMdc = null;
+        boolean mdcInstalled = false;
         try {
             ruleProvider.runRule(context);
             JRule.JRULE_EXECUTION_CONTEXT.set(context);
-            JRuleLog.debug(logger, context.getLogName(), "setting mdc tags: {}", context.getLoggingTags());
-            MDC.put(MDC_KEY_RULE, context.getLogName());
-            Arrays.stream(context.getLoggingTags()).forEach(s -> MDC.put(s, s));
+            previousMdc = mdcSnapshot.install();
+            mdcInstalled = true;
             context.getInvocationCallback().accept(event);
         } catch (Exception e) {
+            metrics.recordError();
             logError("Error in rule: {}", ExceptionUtils.getStackTrace(e));
         } finally {
-            Arrays.stream(context.getLoggingTags()).forEach(MDC::remove);
-            MDC.remove(MDC_KEY_RULE);
+            metrics.recordExecution(System.nanoTime() - start);
+            if (mdcInstalled) {
+                // restoring without an installed snapshot would clear the caller's MDC
+                JRuleMdcSnapshot.restore(previousMdc);
+            }
             JRule.JRULE_EXECUTION_CONTEXT.remove();
             ruleProvider.stopRule(context);
         }
     }
 
-    private void invokeDelayed(JRuleExecutionContext context, JRuleEvent event,
-            BiConsumer<JRuleExecutionContext, JRuleEvent> ruleInvoker) {
+    /**
+     * @param dispatched when the invocation was handed to the executor, the time until now is its queue wait
+     */
+    private void invokeDelayed(JRuleExecutionContext context, JRuleEvent event, Runnable completion,
+            long dispatched) {
+        getMetrics(context).recordQueueWait(System.nanoTime() - dispatched);
         if (context.getDelayed() != null) {
-            JRuleTimerHandler.get().createTimer(null, context.getDelayed(), t -> ruleInvoker.accept(context, event),
-                    context);
+            JRuleTimerHandler.get().createTimer(null, context.getDelayed(), t -> {
+                try {
+                    invokeRuleInternal(context, event);
+                } finally {
+                    completion.run();
+                }
+            }, context);
         } else {
-            ruleInvoker.accept(context, event);
+            try {
+                invokeRuleInternal(context, event);
+            } finally {
+                completion.run();
+            }
         }
     }
 
@@ -505,22 +704,48 @@ public class JRuleEngine implements PropertyChangeListener {
     }
 
     public JRuleBuilder createJRuleBuilder(String ruleName, JRule jRule, Method method) {
-        return createJRuleBuilder(ruleName, event -> {
-            try {
-                if (Arrays.stream(method.getParameters())
-                        .anyMatch(param -> (JRuleEvent.class.isAssignableFrom(param.getType())))) {
-                    method.invoke(jRule, event);
-                } else {
-                    method.invoke(jRule);
-                }
-            } catch (InvocationTargetException e) {
-                logError("Error in rule: {}\ntarget: {}", ExceptionUtils.getStackTrace(e),
-                        ExceptionUtils.getStackTrace(e.getCause()));
-            } catch (IllegalAccessException | IllegalArgumentException | SecurityException e) {
+        return createJRuleBuilder(ruleName, createInvocationCallback(jRule, method))
+                .uid(JRuleModuleEntry.createUid(jRule, method));
+    }
+
+    /**
+     * Binds the rule method to the rule instance once, as a method handle taking the event whether or not the method
+     * declares it. Exceptions thrown by the rule reach the callback unwrapped.
+     */
+    private JRuleInvocationCallback createInvocationCallback(JRule jRule, Method method) {
+        final MethodHandle invoker;
+        try {
+            invoker = bindRuleMethod(jRule, method);
+        } catch (IllegalAccessException | IllegalArgumentException | SecurityException
+                | WrongMethodTypeException e) {
+            logError("Error binding rule method '{}#{}': {}", method.getDeclaringClass().getName(), method.getName(),
+                    ExceptionUtils.getStackTrace(e));
+            return event -> {
+                recordRuleError();
                 logError("Error calling rule method '{}#{}': {}", method.getDeclaringClass().getName(),
                         method.getName(), ExceptionUtils.getStackTrace(e));
+            };
+        }
+        return event -> {
+            try {
+                invoker.invokeExact(event);
+            } catch (Throwable t) {
+                recordRuleError();
+                logError("Error in rule: {}", ExceptionUtils.getStackTrace(t));
             }
-        }).uid(JRuleModuleEntry.createUid(jRule, method));
+        };
+    }
+
+    static MethodHandle bindRuleMethod(JRule jRule, Method method) throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(jRule);
+        }
+        MethodType invokerType = MethodType.methodType(void.class, JRuleEvent.class);
+        if (Arrays.stream(method.getParameterTypes()).anyMatch(JRuleEvent.class::isAssignableFrom)) {
+            return handle.asType(invokerType);
+        }
+        return MethodHandles.dropArguments(handle, 0, JRuleEvent.class).asType(invokerType);
     }
 
     public JRuleBuilder createJRuleBuilder(String ruleName, JRuleInvocationCallback invocationCallback) {
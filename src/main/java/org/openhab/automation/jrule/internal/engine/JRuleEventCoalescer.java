@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.jrule.rules.event.JRuleEvent;
+
+/**
+ * The {@link JRuleEventCoalescer} keeps only the newest event per key. The first event of a key is delivered after
+ * the coalescing window. Events arriving while a delivery is pending, queued or running replace each other, and the
+ * newest one is delivered once the running invocation has completed and the window has passed again.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleEventCoalescer {
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    // created on first use, so the coalescer can be used again after shutdown
+    private @Nullable ScheduledExecutorService scheduler;
+    // set by shutdown, completing deliveries must not start the scheduler again
+    private boolean stopped;
+
+    /**
+     * @param key coalescing key, usually rule uid and item name
+     * @param event the new event
+     * @param window time to wait before delivering the newest event
+     * @param delivery invokes the rule with the newest event, must call the given completion callback once the
+     *            invocation is done
+     */
+    public void offer(String key, JRuleEvent event, Duration window, BiConsumer<JRuleEvent, Runnable> delivery) {
+        while (true) {
+            Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+            synchronized (slot) {
+                if (slot.removed) {
+                    continue;
+                }
+                if (slot.hasPending) {
+                    coalescedCount.incrementAndGet();
+                }
+                slot.pending = event;
+                slot.hasPending = true;
+                if (!slot.active) {
+                    slot.active = true;
+                    schedule(key, slot, window, delivery, true);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return number of events replaced by a newer one before they were delivered
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Drops all pending events. Deliveries already running complete, but do not deliver again.
+     */
+    public void clear() {
+        for (Slot slot : slots.values()) {
+            synchronized (slot) {
+                slot.removed = true;
+                slot.pending = null;
+                slot.hasPending = false;
+            }
+        }
+        slots.clear();
+    }
+
+    /**
+     * Drops all pending events and stops the scheduler thread. Only a new {@link #offer} starts it again.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            stopped = true;
+            ScheduledExecutorService current = scheduler;
+            if (current != null) {
+                current.shutdownNow();
+                scheduler = null;
+            }
+        }
+        clear();
+    }
+
+    /**
+     * @param restart true if called for a new event, which starts the scheduler again after a shutdown
+     */
+    private synchronized void schedule(String key, Slot slot, Duration window,
+            BiConsumer<JRuleEvent, Runnable> delivery, boolean restart) {
+        if (restart) {
+            stopped = false;
+        }
+        if (stopped) {
+            return;
+        }
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            current = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "JRule-Coalescer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler = current;
+        }
+        current.schedule(() -> deliver(key, slot, window, delivery), window.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void deliver(String key, Slot slot, Duration window, BiConsumer<JRuleEvent, Runnable> delivery) {
+        JRuleEvent event;
+        synchronized (slot) {
+            if (slot.removed) {
+                return;
+            }
+            event = slot.pending;
+            slot.pending = null;
+            slot.hasPending = false;
+        }
+        try {
+            delivery.accept(event, () -> complete(key, slot, window, delivery));
+        } catch (RuntimeException e) {
+            complete(key, slot, window, delivery);
+            throw e;
+        }
+    }
+
+    private void complete(String key, Slot slot, Duration window, BiConsumer<JRuleEvent, Runnable> delivery) {
+        synchronized (slot) {
+            if (slot.hasPending && !slot.removed) {
+                schedule(key, slot, window, delivery, false);
+            } else {
+                slot.active = false;
+                slot.removed = true;
+                slots.remove(key, slot);
+            }
+        }
+    }
+
+    private static class Slot {
+        private JRuleEvent pending;
+        private boolean hasPending;
+        // a delivery is scheduled, queued or running
+        private boolean active;
+        // dropped from the coalescer, a new slot is created for the key
+        private boolean removed;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link JRuleHistogram} records durations in nanoseconds into log-linear buckets: every power of two is split
+ * into 8 buckets of equal width, so a reported percentile is at most 12.5% above the recorded value. Durations
+ * above 2^40 ns (about 18 minutes) share the last bucket. Recording only updates atomic counters, it neither locks
+ * nor allocates.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+    static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(index(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(0, value);
+        }
+        int magnitude = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_MAGNITUDE);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = magnitude < MAX_MAGNITUDE || value >>> shift < 2 * SUB_BUCKETS
+                ? (int) (value >>> shift) & (SUB_BUCKETS - 1)
+                : SUB_BUCKETS - 1;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the highest value recorded into the bucket
+     */
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return ((long) (SUB_BUCKETS + index % SUB_BUCKETS + 1) << shift) - 1;
+    }
+
+    /**
+     * Takes a snapshot, counters recorded concurrently may or may not be part of it.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        long maxValue = max.get();
+        return new Snapshot(count, count == 0 ? 0 : sum.sum() / count, percentile(counts, count, 0.5, maxValue),
+                percentile(counts, count, 0.9, maxValue), percentile(counts, count, 0.99, maxValue), maxValue);
+    }
+
+    private static long percentile(long[] counts, long count, double percentile, long maxValue) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Durations in nanoseconds.
+     */
+    public record Snapshot(long count, long mean, long p50, long p90, long p99, long max) {
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.openhab.automation.jrule.internal.JRuleLog;
+import org.openhab.automation.jrule.rules.event.JRuleEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JRulePooledRuleExecutor} runs rule invocations on a thread pool with an optionally bounded queue. When the
+ * queue is full the pool grows up to its maximum size, after that the configured {@link JRuleSaturationPolicy} is
+ * applied.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRulePooledRuleExecutor implements JRuleRuleExecutor {
+    private static final String LOG_NAME = JRulePooledRuleExecutor.class.getSimpleName();
+    private static final long SATURATION_WARN_INTERVAL_MILLIS = 60_000;
+
+    private final Logger logger = LoggerFactory.getLogger(JRulePooledRuleExecutor.class);
+    private final ThreadPoolExecutor executor;
+    private final BlockingQueue<Runnable> queue;
+    private final int queueCapacity;
+    private final JRuleSaturationPolicy saturationPolicy;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong lastSaturationWarning = new AtomicLong();
+
+    /**
+     * @param queueCapacity maximum number of queued invocations, 0 or less for an unbounded queue
+     */
+    public JRulePooledRuleExecutor(int minExecutors, int maxExecutors, long keepAliveMinutes, int queueCapacity,
+            JRuleSaturationPolicy saturationPolicy, ThreadFactory threadFactory) {
+        this.queueCapacity = queueCapacity;
+        this.saturationPolicy = saturationPolicy;
+        this.queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>();
+        this.executor = new ThreadPoolExecutor(minExecutors, Math.max(minExecutors, maxExecutors), keepAliveMinutes,
+                TimeUnit.MINUTES, queue, threadFactory, new SaturationHandler());
+    }
+
+    @Override
+    public void execute(String uid, JRuleEvent event, Consumer<JRuleEvent> invoker, boolean discardable) {
+        executor.execute(new RuleTask(uid, event, invoker, discardable));
+    }
+
+    @Override
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public Statistics getStatistics() {
+        return new Statistics(queue.size(), queueCapacity, executor.getActiveCount(), executor.getPoolSize(),
+                executor.getLargestPoolSize(), executor.getCompletedTaskCount(), rejectedCount.get(),
+                callerRunsCount.get(), droppedCount.get(), coalescedCount.get());
+    }
+
+    private class SaturationHandler implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor pool) {
+            if (pool.isShutdown()) {
+                return;
+            }
+            rejectedCount.incrementAndGet();
+            warnSaturated();
+            RuleTask task = (RuleTask) runnable;
+            // invocations that are not discardable are run by the caller, so their completion always runs
+            switch (task.discardable ? saturationPolicy : JRuleSaturationPolicy.CALLER_RUNS) {
+                case DROP_OLDEST_PER_RULE:
+                    RuleTask oldest = findQueued(task.uid);
+                    if (oldest != null && queue.remove(oldest)) {
+                        droppedCount.incrementAndGet();
+                        JRuleLog.debug(logger, LOG_NAME, "Executor saturated, dropped oldest queued event for {}",
+                                task.uid);
+                        pool.execute(task);
+                        return;
+                    }
+                    break;
+                case COALESCE:
+                    RuleTask queued = findQueued(task.uid);
+                    if (queued != null && queued.replaceEvent(task.pendingEvent.get())) {
+                        coalescedCount.incrementAndGet();
+                        JRuleLog.debug(logger, LOG_NAME, "Executor saturated, coalesced event for {}", task.uid);
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            callerRunsCount.incrementAndGet();
+            task.run();
+        }
+
+        private RuleTask findQueued(String uid) {
+            for (Runnable runnable : queue) {
+                if (runnable instanceof RuleTask ruleTask && ruleTask.discardable && ruleTask.uid.equals(uid)) {
+                    return ruleTask;
+                }
+            }
+            return null;
+        }
+
+        private void warnSaturated() {
+            long now = System.currentTimeMillis();
+            long last = lastSaturationWarning.get();
+            if (now - last > SATURATION_WARN_INTERVAL_MILLIS && lastSaturationWarning.compareAndSet(last, now)) {
+                JRuleLog.warn(logger, LOG_NAME, "Rule executor saturated, applying policy {}: {}", saturationPolicy,
+                        getStatistics());
+            }
+        }
+    }
+
+    private static class RuleTask implements Runnable {
+        private static final Object STARTED = new Object();
+
+        private final String uid;
+        private final Consumer<JRuleEvent> invoker;
+        private final boolean discardable;
+        private final AtomicReference<Object> pendingEvent;
+
+        RuleTask(String uid, JRuleEvent event, Consumer<JRuleEvent> invoker, boolean discardable) {
+            this.uid = uid;
+            this.invoker = invoker;
+            this.discardable = discardable;
+            this.pendingEvent = new AtomicReference<>(event);
+        }
+
+        boolean replaceEvent(Object event) {
+            Object current = pendingEvent.get();
+            while (current != STARTED) {
+                if (pendingEvent.compareAndSet(current, event)) {
+                    return true;
+                }
+                current = pendingEvent.get();
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            Object event = pendingEvent.getAndSet(STARTED);
+            if (event != STARTED) {
+                invoker.accept((JRuleEvent) event);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openhab.automation.jrule.rules.event.JRuleEvent;
+
+/**
+ * The {@link JRuleRuleExecutor} runs rule invocations outside of the event delivery thread.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public interface JRuleRuleExecutor {
+
+    /**
+     * @param uid uid of the execution context, invocations of the same rule share it
+     * @param event event passed to the invoker
+     * @param invoker invokes the rule
+     */
+    default void execute(String uid, JRuleEvent event, Consumer<JRuleEvent> invoker) {
+        execute(uid, event, invoker, true);
+    }
+
+    /**
+     * @param discardable false if the invocation must not be dropped or merged into another one when the executor is
+     *            saturated, because completing it releases a coalescing slot or a serial lane
+     */
+    void execute(String uid, JRuleEvent event, Consumer<JRuleEvent> invoker, boolean discardable);
+
+    void shutdownNow();
+
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException;
+
+    Statistics getStatistics();
+
+    record Statistics(int queueDepth, int queueCapacity, int activeThreads, int poolSize, int largestPoolSize,
+            long completedTasks, long rejected, long callerRuns, long dropped, long coalesced) {
+    }
+}
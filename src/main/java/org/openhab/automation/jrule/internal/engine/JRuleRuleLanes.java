@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.jrule.internal.JRuleLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JRuleRuleLanes} limits how many invocations of the same rule run at the same time. Every rule uid gets
+ * a lane with a pending queue. An invocation is handed to the executor only if the lane has a free slot, otherwise it
+ * waits in the lane and is run by the thread finishing the previous invocation. No thread ever blocks on a lane, and
+ * invocations of one lane start in submission order.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleRuleLanes {
+    private static final String LOG_NAME = JRuleRuleLanes.class.getSimpleName();
+    private final Logger logger = LoggerFactory.getLogger(JRuleRuleLanes.class);
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final int maxPerLane;
+
+    public JRuleRuleLanes(int maxPerLane) {
+        this.maxPerLane = Math.max(1, maxPerLane);
+    }
+
+    public void submit(String uid, Runnable task, Executor executor) {
+        submit(uid, done -> {
+            try {
+                task.run();
+            } finally {
+                done.run();
+            }
+        }, executor);
+    }
+
+    /**
+     * Submits an invocation which may finish after it returned, e.g. a delayed rule. The lane slot is held until
+     * the invocation runs the callback it is given.
+     */
+    public void submit(String uid, Consumer<Runnable> task, Executor executor) {
+        Lane lane = lanes.computeIfAbsent(uid, k -> new Lane());
+        synchronized (lane) {
+            if (lane.running >= maxPerLane) {
+                lane.pending.add(task);
+                return;
+            }
+            lane.running++;
+        }
+        start(lane, task, executor);
+    }
+
+    public int getRunning() {
+        return lanes.values().stream().mapToInt(lane -> {
+            synchronized (lane) {
+                return lane.running;
+            }
+        }).sum();
+    }
+
+    public int getPending() {
+        return lanes.values().stream().mapToInt(lane -> {
+            synchronized (lane) {
+                return lane.pending.size();
+            }
+        }).sum();
+    }
+
+    public void clear() {
+        lanes.values().forEach(lane -> {
+            synchronized (lane) {
+                lane.pending.clear();
+            }
+        });
+    }
+
+    private void start(Lane lane, Consumer<Runnable> task, Executor executor) {
+        try {
+            executor.execute(() -> drain(lane, task, executor));
+        } catch (RuntimeException e) {
+            synchronized (lane) {
+                lane.running--;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs invocations of the lane on the current thread as long as each one is done when it returns. An invocation
+     * finishing later starts the next one of its lane on the executor.
+     */
+    private void drain(Lane lane, Consumer<Runnable> first, Executor executor) {
+        Consumer<Runnable> next = first;
+        while (next != null) {
+            Completion completion = new Completion(lane, executor);
+            try {
+                next.accept(completion);
+            } catch (RuntimeException e) {
+                JRuleLog.error(logger, LOG_NAME, e, "Uncaught error in rule invocation");
+                completion.run();
+            }
+            next = completion.returned();
+        }
+    }
+
+    private static @Nullable Consumer<Runnable> poll(Lane lane) {
+        synchronized (lane) {
+            Consumer<Runnable> next = lane.pending.poll();
+            if (next == null) {
+                lane.running--;
+            }
+            return next;
+        }
+    }
+
+    private class Completion implements Runnable {
+        private final Lane lane;
+        private final Executor executor;
+        private boolean returned;
+        private boolean done;
+
+        Completion(Lane lane, Executor executor) {
+            this.lane = lane;
+            this.executor = executor;
+        }
+
+        /**
+         * Called once the invocation is done, only the first call counts.
+         */
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                if (!returned) {
+                    // the draining thread continues with the next invocation
+                    return;
+                }
+            }
+            Consumer<Runnable> next = poll(lane);
+            if (next != null) {
+                start(lane, next, executor);
+            }
+        }
+
+        /**
+         * Called by the draining thread once the invocation returned.
+         *
+         * @return the next invocation to run if this one is already done, null otherwise
+         */
+        @Nullable
+        Consumer<Runnable> returned() {
+            synchronized (this) {
+                returned = true;
+                if (!done) {
+                    return null;
+                }
+            }
+            return poll(lane);
+        }
+    }
+
+    private static class Lane {
+        private final Queue<Consumer<Runnable>> pending = new ArrayDeque<>();
+        private int running;
+    }
+}
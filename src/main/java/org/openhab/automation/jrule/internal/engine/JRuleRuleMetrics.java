@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link JRuleRuleMetrics} holds the execution metrics of one execution context uid: how long matching events
+ * against its trigger took, how long invocations waited to be run, how long they ran, how many of them failed and
+ * when it was run last.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleRuleMetrics {
+    private final String uid;
+    private final JRuleHistogram matchTime = new JRuleHistogram();
+    private final JRuleHistogram queueWait = new JRuleHistogram();
+    private final JRuleHistogram executionTime = new JRuleHistogram();
+    private final LongAdder errors = new LongAdder();
+    private volatile long lastRun = 0;
+
+    public JRuleRuleMetrics(String uid) {
+        this.uid = uid;
+    }
+
+    public void recordMatch(long nanos) {
+        matchTime.record(nanos);
+    }
+
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos);
+    }
+
+    public void recordStart() {
+        lastRun = System.currentTimeMillis();
+    }
+
+    public void recordExecution(long nanos) {
+        executionTime.record(nanos);
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public Snapshot snapshot() {
+        long lastRunMillis = lastRun;
+        return new Snapshot(uid, lastRunMillis == 0 ? null : Instant.ofEpochMilli(lastRunMillis), errors.sum(),
+                matchTime.snapshot(), queueWait.snapshot(), executionTime.snapshot());
+    }
+
+    /**
+     * @param lastRun start of the last run, null if it never ran
+     */
+    public record Snapshot(String uid, @Nullable Instant lastRun, long errors, JRuleHistogram.Snapshot matchTime,
+            JRuleHistogram.Snapshot queueWait, JRuleHistogram.Snapshot executionTime) {
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+/**
+ * The {@link JRuleSaturationPolicy} decides what happens to a rule invocation when all executor threads are busy and
+ * the executor queue is full.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public enum JRuleSaturationPolicy {
+    /**
+     * Run the rule on the thread delivering the event, this slows down event delivery until the executor catches up
+     */
+    CALLER_RUNS,
+    /**
+     * Remove the oldest queued invocation of the same rule and queue the new one. Falls back to
+     * {@link #CALLER_RUNS} if the rule has nothing queued
+     */
+    DROP_OLDEST_PER_RULE,
+    /**
+     * Hand the new event to an already queued invocation of the same rule, so the rule runs once with the newest
+     * event. Falls back to {@link #CALLER_RUNS} if the rule has nothing queued
+     */
+    COALESCE;
+
+    public static JRuleSaturationPolicy fromConfig(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
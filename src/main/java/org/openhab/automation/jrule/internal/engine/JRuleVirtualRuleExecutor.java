@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.openhab.automation.jrule.rules.event.JRuleEvent;
+
+/**
+ * The {@link JRuleVirtualRuleExecutor} runs every rule invocation on its own virtual thread, so rules blocking on
+ * http requests, command lines or persistence queries do not starve other rules. The number of concurrent
+ * invocations per rule is limited, further invocations wait in the rule's lane without holding a thread.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleVirtualRuleExecutor implements JRuleRuleExecutor {
+    private final ExecutorService executor = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("JRule-Virtual-", 0).factory());
+    private final JRuleRuleLanes lanes;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger largestActive = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+
+    public JRuleVirtualRuleExecutor(int maxConcurrentPerRule) {
+        this.lanes = new JRuleRuleLanes(maxConcurrentPerRule);
+    }
+
+    @Override
+    public void execute(String uid, JRuleEvent event, Consumer<JRuleEvent> invoker, boolean discardable) {
+        lanes.submit(uid, () -> {
+            largestActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                invoker.accept(event);
+            } finally {
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        }, executor);
+    }
+
+    @Override
+    public void shutdownNow() {
+        lanes.clear();
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public Statistics getStatistics() {
+        return new Statistics(lanes.getPending(), 0, active.get(), lanes.getRunning(), largestActive.get(),
+                completed.get(), 0, 0, 0, 0);
+    }
+}
@@ -34,8 +34,10 @@ public class JRuleChannelExecutionContext extends JRuleExecutionContext {
 
     public JRuleChannelExecutionContext(String uid, String logName, String[] loggingTags,
             JRuleInvocationCallback invocationCallback, List<JRulePreconditionContext> preconditionContextList,
-            String channel, Optional<String> event, Duration timedLock, Duration delayed) {
-        super(uid, logName, loggingTags, invocationCallback, preconditionContextList, timedLock, delayed);
+            String channel, Optional<String> event, Duration timedLock, Duration delayed, boolean serial,
+            Duration coalesce) {
+        super(uid, logName, loggingTags, invocationCallback, preconditionContextList, timedLock, delayed, serial,
+                coalesce);
         this.channel = channel;
         this.event = event;
     }
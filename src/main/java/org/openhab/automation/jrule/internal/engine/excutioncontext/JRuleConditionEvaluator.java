@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine.excutioncontext;
+
+import java.util.Optional;
+import java.util.function.DoublePredicate;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.Type;
+
+/**
+ * The {@link JRuleConditionEvaluator} is a trigger condition or precondition compiled once when the rule is loaded.
+ * The numeric bounds are folded into a single primitive double predicate, which is evaluated against the value of
+ * a {@link DecimalType} or {@link QuantityType} directly. Only other types are converted to a string and parsed, as
+ * before. A value which is no number matches no numeric bound.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public final class JRuleConditionEvaluator {
+    private final @Nullable String eq;
+    private final @Nullable String neq;
+    private final @Nullable DoublePredicate numeric;
+
+    public JRuleConditionEvaluator(Optional<Double> gt, Optional<Double> gte, Optional<Double> lt,
+            Optional<Double> lte, Optional<String> eq, Optional<String> neq) {
+        this.eq = eq.orElse(null);
+        this.neq = neq.orElse(null);
+        DoublePredicate predicate = null;
+        if (gt.isPresent()) {
+            double ref = gt.get();
+            predicate = and(predicate, value -> value > ref);
+        }
+        if (gte.isPresent()) {
+            double ref = gte.get();
+            predicate = and(predicate, value -> value >= ref);
+        }
+        if (lt.isPresent()) {
+            double ref = lt.get();
+            predicate = and(predicate, value -> value < ref);
+        }
+        if (lte.isPresent()) {
+            double ref = lte.get();
+            predicate = and(predicate, value -> value <= ref);
+        }
+        this.numeric = predicate;
+    }
+
+    public boolean isEmpty() {
+        return eq == null && neq == null && numeric == null;
+    }
+
+    public boolean test(@Nullable Type value) {
+        if (isEmpty()) {
+            return true;
+        }
+        if (value == null) {
+            return false;
+        }
+        if (eq != null || neq != null) {
+            String string = value.toString();
+            if (eq != null && !eq.equals(string)) {
+                return false;
+            }
+            if (neq != null && neq.equals(string)) {
+                return false;
+            }
+        }
+        DoublePredicate predicate = numeric;
+        return predicate == null || predicate.test(toDouble(value));
+    }
+
+    /**
+     * @return the numeric value of the given type, NaN if it is no number
+     */
+    static double toDouble(Type value) {
+        if (value instanceof QuantityType<?> quantityType) {
+            return quantityType.doubleValue();
+        }
+        // HSBType is a PercentType, but its string form never parsed as a number
+        if (value instanceof DecimalType decimalType && !(value instanceof HSBType)) {
+            return decimalType.doubleValue();
+        }
+        String string = value.toString();
+        try {
+            return QuantityType.valueOf(string).doubleValue();
+        } catch (IllegalArgumentException e) {
+            return NumberUtils.isParsable(string) ? Double.parseDouble(string) : Double.NaN;
+        }
+    }
+
+    private static DoublePredicate and(@Nullable DoublePredicate first, DoublePredicate second) {
+        return first == null ? second : first.and(second);
+    }
+}
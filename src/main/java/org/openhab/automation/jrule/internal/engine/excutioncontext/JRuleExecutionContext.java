@@ -16,6 +16,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
+import org.openhab.automation.jrule.internal.engine.JRuleEngine;
 import org.openhab.automation.jrule.internal.engine.JRuleInvocationCallback;
 import org.openhab.automation.jrule.rules.event.JRuleEvent;
 import org.openhab.core.events.AbstractEvent;
@@ -30,23 +31,31 @@ public abstract class JRuleExecutionContext {
     protected final String uid;
     protected final JRuleInvocationCallback invocationCallback;
     protected final String[] loggingTags;
+    private final JRuleMdcSnapshot mdcSnapshot;
     protected final List<JRulePreconditionContext> preconditionContextList;
     protected final Duration timedLock;
     private final Duration delayed;
+    // Invocations of this rule run one at a time in event order
+    private final boolean serial;
+    // Only the newest pending event is delivered, null if events are not coalesced
+    private final Duration coalesce;
 
     // If this rule is enabled or disabled in openHAB rules engine
     private boolean enabled = false;
 
     public JRuleExecutionContext(String uid, String logName, String[] loggingTags,
             JRuleInvocationCallback invocationCallback, List<JRulePreconditionContext> preconditionContextList,
-            Duration timedLock, Duration delayed) {
+            Duration timedLock, Duration delayed, boolean serial, Duration coalesce) {
         this.logName = logName;
         this.loggingTags = loggingTags;
+        this.mdcSnapshot = JRuleMdcSnapshot.of(JRuleEngine.MDC_KEY_RULE, logName, loggingTags);
         this.uid = uid;
         this.invocationCallback = invocationCallback;
         this.preconditionContextList = preconditionContextList;
         this.timedLock = timedLock;
         this.delayed = delayed;
+        this.serial = serial;
+        this.coalesce = coalesce;
     }
 
     public String getUid() {
@@ -65,6 +74,10 @@ public abstract class JRuleExecutionContext {
         return loggingTags;
     }
 
+    public JRuleMdcSnapshot getMdcSnapshot() {
+        return mdcSnapshot;
+    }
+
     public abstract boolean match(AbstractEvent event, JRuleAdditionalCheckData checkData);
 
     public abstract JRuleEvent createJRuleEvent(AbstractEvent event);
@@ -88,6 +101,14 @@ public abstract class JRuleExecutionContext {
         return delayed;
     }
 
+    public boolean isSerial() {
+        return serial;
+    }
+
+    public Duration getCoalesce() {
+        return coalesce;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
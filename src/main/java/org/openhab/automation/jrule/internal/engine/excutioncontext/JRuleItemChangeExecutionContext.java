@@ -17,6 +17,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.jrule.internal.engine.JRuleInvocationCallback;
 import org.openhab.automation.jrule.internal.handler.JRuleEventHandler;
 import org.openhab.automation.jrule.items.JRuleItem;
@@ -27,6 +28,7 @@ import org.openhab.core.events.AbstractEvent;
 import org.openhab.core.items.events.GroupItemStateChangedEvent;
 import org.openhab.core.items.events.ItemEvent;
 import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.core.types.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,24 +47,25 @@ public class JRuleItemChangeExecutionContext extends JRuleItemExecutionContext {
             JRuleInvocationCallback invocationCallback, String itemName, JRuleMemberOf memberOf,
             Optional<JRuleConditionContext> conditionContext, Optional<JRuleConditionContext> previousConditionContext,
             List<JRulePreconditionContext> preconditionContextList, Optional<String> from, Optional<String> to,
-            Duration timedLock, Duration delayed) {
+            Duration timedLock, Duration delayed, boolean serial, Duration coalesce) {
         super(uid, logName, loggingTags, invocationCallback, itemName, memberOf, conditionContext,
-                preconditionContextList, timedLock, delayed);
+                preconditionContextList, timedLock, delayed, serial, coalesce);
         this.from = from;
         this.to = to;
         this.previousConditionContext = previousConditionContext;
     }
 
-    public boolean matchCondition(String state, String previousState) {
+    @Override
+    public boolean matchCondition(Type state, @Nullable Type previousState) {
         return super.matchCondition(state, previousState)
-                && previousConditionContext.map(c -> c.matchCondition(previousState)).orElse(true);
+                && (previousConditionContext.isEmpty() || previousConditionContext.get().matchCondition(previousState));
     }
 
     @Override
     public boolean match(AbstractEvent event, JRuleAdditionalCheckData checkData) {
         if (!(event instanceof ItemStateChangedEvent
-                && matchCondition(((ItemStateChangedEvent) event).getItemState().toString(),
-                        ((ItemStateChangedEvent) event).getOldItemState().toString())
+                && matchCondition(((ItemStateChangedEvent) event).getItemState(),
+                        ((ItemStateChangedEvent) event).getOldItemState())
                 && from.map(s -> ((ItemStateChangedEvent) event).getOldItemState().toString().equals(s)).orElse(true)
                 && to.map(s -> ((ItemStateChangedEvent) event).getItemState().toString().equals(s)).orElse(true))) {
             return false;
@@ -15,13 +15,14 @@ package org.openhab.automation.jrule.internal.engine.excutioncontext;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.jrule.internal.engine.JRuleInvocationCallback;
 import org.openhab.automation.jrule.rules.JRuleCondition;
 import org.openhab.automation.jrule.rules.JRuleMemberOf;
-import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.Type;
 
 /**
  * The {@link JRuleItemExecutionContext}
@@ -36,8 +37,9 @@ public abstract class JRuleItemExecutionContext extends JRuleExecutionContext {
     public JRuleItemExecutionContext(String uid, String logName, String[] loggingTags,
             JRuleInvocationCallback invocationCallback, String itemName, JRuleMemberOf memberOf,
             Optional<JRuleConditionContext> conditionContext, List<JRulePreconditionContext> preconditionContextList,
-            Duration timedLock, Duration delayed) {
-        super(uid, logName, loggingTags, invocationCallback, preconditionContextList, timedLock, delayed);
+            Duration timedLock, Duration delayed, boolean serial, Duration coalesce) {
+        super(uid, logName, loggingTags, invocationCallback, preconditionContextList, timedLock, delayed, serial,
+                coalesce);
         this.itemName = itemName;
         this.memberOf = memberOf;
         this.conditionContext = conditionContext;
@@ -47,8 +49,8 @@ public abstract class JRuleItemExecutionContext extends JRuleExecutionContext {
         return itemName;
     }
 
-    public boolean matchCondition(String state, String previousState) {
-        return conditionContext.map(c -> c.matchCondition(state)).orElse(true);
+    public boolean matchCondition(Type state, @Nullable Type previousState) {
+        return conditionContext.isEmpty() || conditionContext.get().matchCondition(state);
     }
 
     public JRuleMemberOf getMemberOf() {
@@ -56,15 +58,17 @@ public abstract class JRuleItemExecutionContext extends JRuleExecutionContext {
     }
 
     public static class JRuleAdditionalItemCheckData extends JRuleAdditionalCheckData {
+        public static final JRuleAdditionalItemCheckData NONE = new JRuleAdditionalItemCheckData(false, Set.of());
+
         private final boolean group;
-        private final List<String> belongingGroups;
+        private final Set<String> belongingGroups;
 
-        public JRuleAdditionalItemCheckData(boolean group, List<String> belongingGroups) {
+        public JRuleAdditionalItemCheckData(boolean group, Set<String> belongingGroups) {
             this.group = group;
             this.belongingGroups = belongingGroups;
         }
 
-        public List<String> getBelongingGroups() {
+        public Set<String> getBelongingGroups() {
             return belongingGroups;
         }
 
@@ -85,6 +89,7 @@ public abstract class JRuleItemExecutionContext extends JRuleExecutionContext {
         protected final Optional<Double> lte;
         protected final Optional<String> eq;
         protected final Optional<String> neq;
+        private final JRuleConditionEvaluator evaluator;
 
         public JRuleConditionContext(Optional<Double> gt, Optional<Double> gte, Optional<Double> lt,
                 Optional<Double> lte, Optional<String> eq, Optional<String> neq) {
@@ -94,6 +99,7 @@ public abstract class JRuleItemExecutionContext extends JRuleExecutionContext {
             this.lte = lte;
             this.eq = eq;
             this.neq = neq;
+            this.evaluator = new JRuleConditionEvaluator(gt, gte, lt, lte, eq, neq);
         }
 
         public JRuleConditionContext(JRuleCondition jRuleCondition) {
@@ -103,28 +109,11 @@ public abstract class JRuleItemExecutionContext extends JRuleExecutionContext {
             this.gte = Optional.of(jRuleCondition.gte()).filter(aDouble -> aDouble != Double.MIN_VALUE);
             this.eq = Optional.of(jRuleCondition.eq()).filter(StringUtils::isNotEmpty);
             this.neq = Optional.of(jRuleCondition.neq()).filter(StringUtils::isNotEmpty);
+            this.evaluator = new JRuleConditionEvaluator(gt, gte, lt, lte, eq, neq);
         }
 
-        public boolean matchCondition(String state) {
-            if (eq.isPresent() && eq.filter(state::equals).isEmpty()) {
-                return false;
-            }
-            if (neq.isPresent() && neq.filter(ref -> !state.equals(ref)).isEmpty()) {
-                return false;
-            }
-            if (lt.isPresent() && lt.filter(ref -> getNumber(state).filter(a -> a < ref).isPresent()).isEmpty()) {
-                return false;
-            }
-            if (lte.isPresent() && lte.filter(ref -> getNumber(state).filter(a -> a <= ref).isPresent()).isEmpty()) {
-                return false;
-            }
-            if (gt.isPresent() && gt.filter(ref -> getNumber(state).filter(a -> a > ref).isPresent()).isEmpty()) {
-                return false;
-            }
-            if (gte.isPresent() && gte.filter(ref -> getNumber(state).filter(a -> a >= ref).isPresent()).isEmpty()) {
-                return false;
-            }
-            return true;
+        public boolean matchCondition(@Nullable Type state) {
+            return evaluator.test(state);
         }
 
         @Override
@@ -133,16 +122,4 @@ public abstract class JRuleItemExecutionContext extends JRuleExecutionContext {
                     + ", neq=" + neq + '}';
         }
     }
-
-    private static Optional<Double> getNumber(String state) {
-        try {
-            return Optional.of(QuantityType.valueOf(state).doubleValue());
-        } catch (IllegalArgumentException e) {
-            if (NumberUtils.isParsable(state)) {
-                return Optional.of(Double.parseDouble(state));
-            } else {
-                return Optional.empty();
-            }
-        }
-    }
 }
@@ -41,16 +41,16 @@ public class JRuleItemReceivedCommandExecutionContext extends JRuleItemExecution
     public JRuleItemReceivedCommandExecutionContext(String uid, String logName, String[] loggingTags,
             JRuleInvocationCallback invocationCallback, String itemName, JRuleMemberOf memberOf,
             Optional<JRuleConditionContext> conditionContext, List<JRulePreconditionContext> preconditionContextList,
-            Optional<String> command, Duration timedLock, Duration delayed) {
+            Optional<String> command, Duration timedLock, Duration delayed, boolean serial, Duration coalesce) {
         super(uid, logName, loggingTags, invocationCallback, itemName, memberOf, conditionContext,
-                preconditionContextList, timedLock, delayed);
+                preconditionContextList, timedLock, delayed, serial, coalesce);
         this.command = command;
     }
 
     @Override
     public boolean match(AbstractEvent event, JRuleAdditionalCheckData checkData) {
         if (!(event instanceof ItemCommandEvent
-                && matchCondition(((ItemCommandEvent) event).getItemCommand().toString(), null)
+                && matchCondition(((ItemCommandEvent) event).getItemCommand(), null)
                 && command.map(s -> ((ItemCommandEvent) event).getItemCommand().toString().equals(s)).orElse(true))) {
             return false;
         }
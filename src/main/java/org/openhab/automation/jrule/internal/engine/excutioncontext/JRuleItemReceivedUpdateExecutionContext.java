@@ -41,16 +41,16 @@ public class JRuleItemReceivedUpdateExecutionContext extends JRuleItemExecutionC
     public JRuleItemReceivedUpdateExecutionContext(String uid, String logName, String[] loggingTags,
             JRuleInvocationCallback invocationCallback, String itemName, JRuleMemberOf memberOf,
             Optional<JRuleConditionContext> conditionContext, List<JRulePreconditionContext> preconditionContextList,
-            Optional<String> state, Duration timedLock, Duration delayed) {
+            Optional<String> state, Duration timedLock, Duration delayed, boolean serial, Duration coalesce) {
         super(uid, logName, loggingTags, invocationCallback, itemName, memberOf, conditionContext,
-                preconditionContextList, timedLock, delayed);
+                preconditionContextList, timedLock, delayed, serial, coalesce);
         this.state = state;
     }
 
     @Override
     public boolean match(AbstractEvent event, JRuleAdditionalCheckData checkData) {
         if (!(event instanceof ItemStateEvent
-                && matchCondition(((ItemStateEvent) event).getItemState().toString(), null)
+                && matchCondition(((ItemStateEvent) event).getItemState(), null)
                 && state.map(s -> ((ItemStateEvent) event).getItemState().toString().equals(s)).orElse(true))) {
             return false;
         }
@@ -28,7 +28,8 @@ public class JRuleLocalTimerExecutionContext extends JRuleExecutionContext {
 
     public JRuleLocalTimerExecutionContext(JRuleExecutionContext parentContext, String timerName) {
         super(parentContext.getUid(), parentContext.getLogName(), parentContext.getLoggingTags(),
-                parentContext.getInvocationCallback(), parentContext.getPreconditionContextList(), null, null);
+                parentContext.getInvocationCallback(), parentContext.getPreconditionContextList(), null, null, false,
+                null);
         this.parentContext = parentContext;
         this.timerName = timerName;
     }
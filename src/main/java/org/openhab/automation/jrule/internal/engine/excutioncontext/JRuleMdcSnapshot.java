@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine.excutioncontext;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.MDC;
+
+/**
+ * The {@link JRuleMdcSnapshot} holds the MDC entries of an execution context, built once when the context is created.
+ * An invocation installs all of them with one call and restores the MDC of the thread afterwards.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public final class JRuleMdcSnapshot {
+    private final Map<String, String> entries;
+
+    private JRuleMdcSnapshot(Map<String, String> entries) {
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    public static JRuleMdcSnapshot of(String key, String value, String[] loggingTags) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put(key, value);
+        for (String loggingTag : loggingTags) {
+            entries.put(loggingTag, loggingTag);
+        }
+        return new JRuleMdcSnapshot(entries);
+    }
+
+    public JRuleMdcSnapshot with(String key, String value) {
+        Map<String, String> copy = new LinkedHashMap<>(entries);
+        copy.put(key, value);
+        return new JRuleMdcSnapshot(copy);
+    }
+
+    public Map<String, String> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Adds the entries to the MDC of the current thread.
+     *
+     * @return the MDC before, to be handed to {@link #restore(Map)}
+     */
+    public @Nullable Map<String, String> install() {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (previous == null || previous.isEmpty()) {
+            MDC.setContextMap(entries);
+        } else {
+            Map<String, String> merged = new HashMap<>(previous);
+            merged.putAll(entries);
+            MDC.setContextMap(merged);
+        }
+        return previous;
+    }
+
+    public static void restore(@Nullable Map<String, String> previous) {
+        if (previous == null || previous.isEmpty()) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(previous);
+        }
+    }
+}
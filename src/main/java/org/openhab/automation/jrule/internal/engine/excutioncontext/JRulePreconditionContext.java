@@ -14,6 +14,8 @@ package org.openhab.automation.jrule.internal.engine.excutioncontext;
 
 import java.util.Optional;
 
+import org.openhab.core.types.State;
+
 /**
  * The {@link JRulePreconditionContext}
  *
@@ -28,6 +30,7 @@ public class JRulePreconditionContext {
     private final Optional<Double> gte;
     private final Optional<String> eq;
     private final Optional<String> neq;
+    private final JRuleConditionEvaluator evaluator;
 
     public JRulePreconditionContext(String item, Optional<Double> lt, Optional<Double> lte, Optional<Double> gt,
             Optional<Double> gte, Optional<String> eq, Optional<String> neq) {
@@ -38,6 +41,11 @@ public class JRulePreconditionContext {
         this.gte = gte;
         this.eq = eq;
         this.neq = neq;
+        this.evaluator = new JRuleConditionEvaluator(gt, gte, lt, lte, eq, neq);
+    }
+
+    public boolean matches(State state) {
+        return evaluator.test(state);
     }
 
     public String getItem() {
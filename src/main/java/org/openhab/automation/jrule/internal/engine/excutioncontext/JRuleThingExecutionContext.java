@@ -37,8 +37,8 @@ public class JRuleThingExecutionContext extends JRuleExecutionContext {
     public JRuleThingExecutionContext(String uid, String logName, String[] loggingTags,
             JRuleInvocationCallback invocationCallback, Optional<String> thing, Optional<JRuleThingStatus> from,
             Optional<JRuleThingStatus> to, List<JRulePreconditionContext> preconditions, Duration timedLock,
-            Duration delayed) {
-        super(uid, logName, loggingTags, invocationCallback, preconditions, timedLock, delayed);
+            Duration delayed, boolean serial, Duration coalesce) {
+        super(uid, logName, loggingTags, invocationCallback, preconditions, timedLock, delayed, serial, coalesce);
         this.thing = thing;
         this.from = from;
         this.to = to;
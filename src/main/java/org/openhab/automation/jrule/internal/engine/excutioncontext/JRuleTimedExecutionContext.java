@@ -24,6 +24,6 @@ import org.openhab.automation.jrule.internal.engine.JRuleInvocationCallback;
 public abstract class JRuleTimedExecutionContext extends JRuleExecutionContext {
     public JRuleTimedExecutionContext(String uid, String logName, String[] loggingTags,
             JRuleInvocationCallback invocationCallback, List<JRulePreconditionContext> preconditionContextList) {
-        super(uid, logName, loggingTags, invocationCallback, preconditionContextList, null, null);
+        super(uid, logName, loggingTags, invocationCallback, preconditionContextList, null, null, false, null);
     }
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine.timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link JRuleTimeLocks} holds named locks which are released after a duration. A lock is only its expiry
+ * timestamp, acquiring it is a single putIfAbsent or replace of an expired timestamp, and expired locks are removed
+ * lazily when they are looked at. Nothing is scheduled to release a lock.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleTimeLocks {
+    private static final int MIN_PURGE_THRESHOLD = 1024;
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    // locks with generated names are never looked at again, purge them once the map has doubled
+    private volatile int purgeThreshold = MIN_PURGE_THRESHOLD;
+
+    /**
+     * @return true if the lock was free and is now held for the given duration, false if it is held
+     */
+    public boolean tryAcquire(String lockName, Duration duration) {
+        long now = System.nanoTime();
+        Long expiry = now + duration.toNanos();
+        while (true) {
+            Long current = expiries.putIfAbsent(lockName, expiry);
+            if (current == null) {
+                if (expiries.size() > purgeThreshold) {
+                    purgeThreshold = Math.max(MIN_PURGE_THRESHOLD, purgeExpired() * 2);
+                }
+                return true;
+            }
+            if (current - now > 0) {
+                return false;
+            }
+            // expired, take it over unless someone else was faster
+            if (expiries.replace(lockName, current, expiry)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean isLocked(String lockName) {
+        Long current = expiries.get(lockName);
+        if (current == null) {
+            return false;
+        }
+        if (current - System.nanoTime() > 0) {
+            return true;
+        }
+        expiries.remove(lockName, current);
+        return false;
+    }
+
+    /**
+     * Removes all expired locks, returns the number of locks still held.
+     */
+    public int purgeExpired() {
+        long now = System.nanoTime();
+        expiries.values().removeIf(expiry -> expiry - now <= 0);
+        return expiries.size();
+    }
+
+    public void clear() {
+        expiries.clear();
+    }
+}
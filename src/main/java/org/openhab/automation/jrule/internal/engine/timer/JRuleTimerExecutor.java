@@ -12,8 +12,8 @@
  */
 package org.openhab.automation.jrule.internal.engine.timer;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.automation.jrule.internal.JRuleLog;
 import org.openhab.automation.jrule.internal.engine.JRuleEngine;
@@ -32,7 +32,7 @@ import org.slf4j.LoggerFactory;
  */
 public class JRuleTimerExecutor {
     private final Logger logger = LoggerFactory.getLogger(JRuleTimerExecutor.class);
-    private final List<ScheduledCompletableFuture<Void>> timers = new ArrayList<>();
+    private final Map<JRuleExecutionContext, ScheduledCompletableFuture<Void>> timers = new ConcurrentHashMap<>();
     private final JRuleEngine jRuleEngine;
     private CronScheduler cronScheduler;
 
@@ -41,7 +41,7 @@ public class JRuleTimerExecutor {
     }
 
     public void add(JRuleTimedCronExecutionContext executionContext) {
-        timers.add(cronScheduler.schedule(() -> {
+        timers.put(executionContext, cronScheduler.schedule(() -> {
             if (jRuleEngine.matchPrecondition(executionContext)) {
                 jRuleEngine.invokeRule(executionContext, executionContext.createJRuleEvent(null));
             }
@@ -53,7 +53,7 @@ public class JRuleTimerExecutor {
                 executionContext.getMinute().map(String::valueOf).orElse("0"),
                 executionContext.getHour().map(String::valueOf).orElse("0"), "*", "*", "*");
         JRuleLog.info(logger, JRuleTimerExecutor.class.getSimpleName(), "Generated cron for timer: {}", cron);
-        timers.add(cronScheduler.schedule(() -> {
+        timers.put(executionContext, cronScheduler.schedule(() -> {
             if (jRuleEngine.matchPrecondition(executionContext)) {
                 jRuleEngine.invokeRule(executionContext, executionContext.createJRuleEvent(null));
             }
@@ -72,8 +72,15 @@ public class JRuleTimerExecutor {
         this.cronScheduler = cronScheduler;
     }
 
+    public void remove(JRuleExecutionContext context) {
+        ScheduledCompletableFuture<Void> timer = timers.remove(context);
+        if (timer != null) {
+            timer.cancel(true);
+        }
+    }
+
     public void clear() {
-        timers.forEach(timer -> timer.cancel(true));
+        timers.values().forEach(timer -> timer.cancel(true));
         timers.clear();
     }
 }
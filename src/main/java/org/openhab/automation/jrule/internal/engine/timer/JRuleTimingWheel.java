@@ -0,0 +1,335 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine.timer;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openhab.automation.jrule.internal.JRuleLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JRuleTimingWheel} is a hashed timing wheel. Every timeout is put into the bucket of the tick it expires
+ * in, timeouts further away than one revolution additionally count down the remaining rounds. Creating a timeout only
+ * adds it to a lock-free queue, cancelling only flips its state, the single worker thread moves new timeouts into
+ * their bucket and unlinks cancelled ones, so both are O(1) for the caller. Expired tasks run on the worker thread
+ * and must hand off any real work to an executor. A timeout fires at most one tick late, never early. The worker is
+ * started by the first timeout and exits again after one idle revolution, so an unused wheel holds no thread.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleTimingWheel {
+    private static final String LOG_NAME = JRuleTimingWheel.class.getSimpleName();
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+    private final Logger logger = LoggerFactory.getLogger(JRuleTimingWheel.class);
+
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long tickNanos;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong scheduledCount = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final String threadName;
+    private final long startTime = System.nanoTime();
+    private volatile boolean stopped;
+    private volatile Thread worker;
+
+    /**
+     * @param tickDuration resolution of the wheel
+     * @param ticksPerWheel number of buckets, rounded up to the next power of two
+     * @param threadName name of the worker thread
+     */
+    public JRuleTimingWheel(Duration tickDuration, int ticksPerWheel, String threadName) {
+        int size = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), tickDuration.toNanos());
+        this.threadName = threadName;
+    }
+
+    /**
+     * Schedules the task to run once after the given delay on the worker thread.
+     */
+    public Timeout newTimeout(Duration delay, Runnable task) {
+        if (stopped) {
+            throw new IllegalStateException("Timing wheel already stopped");
+        }
+        long delayNanos = Math.max(0, saturatedNanos(delay));
+        long deadline = System.nanoTime() - startTime + delayNanos;
+        // guard against overflow for very long delays
+        if (delayNanos > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        Timeout timeout = new Timeout(this, task, deadline);
+        scheduledCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        start();
+        return timeout;
+    }
+
+    /**
+     * @return number of timeouts neither expired nor cancelled
+     */
+    public long getScheduledCount() {
+        return scheduledCount.get();
+    }
+
+    public void stop() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void start() {
+        if (running.compareAndSet(false, true)) {
+            Thread thread = new Thread(this::run, threadName);
+            thread.setDaemon(true);
+            worker = thread;
+            thread.start();
+        }
+    }
+
+    private void run() {
+        long tick = (System.nanoTime() - startTime) / tickNanos;
+        long idleTicks = 0;
+        while (!stopped) {
+            long deadline = waitForNextTick(tick);
+            if (deadline < 0) {
+                continue;
+            }
+            removeCancelled();
+            transferPending(tick);
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+            if (scheduledCount.get() > 0 || !pendingTimeouts.isEmpty()) {
+                idleTicks = 0;
+            } else if (++idleTicks >= wheel.length && !resumeAfterIdle()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hands the worker role back before exiting, keeps it if a timeout was added while the worker was still running.
+     *
+     * @return true if this thread stays the worker
+     */
+    private boolean resumeAfterIdle() {
+        removeCancelled();
+        worker = null;
+        running.set(false);
+        // newTimeout adds to the queue before it tries to start a worker, so one of both sees the other
+        if (pendingTimeouts.isEmpty() || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        worker = Thread.currentThread();
+        return true;
+    }
+
+    private long waitForNextTick(long tick) {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startTime;
+            long sleepNanos = deadline - current;
+            if (sleepNanos <= 0) {
+                return current;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+            if (stopped) {
+                return -1;
+            }
+        }
+    }
+
+    private void transferPending(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != Timeout.ST_INIT) {
+                continue;
+            }
+            long expireTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expireTick - tick) / wheel.length;
+            // already overdue timeouts go into the current bucket
+            long bucketTick = Math.max(expireTick, tick);
+            wheel[(int) (bucketTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            Bucket bucket = timeout.bucket;
+            if (bucket != null) {
+                bucket.remove(timeout);
+            }
+        }
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? 0 : Long.MAX_VALUE;
+        }
+    }
+
+    private void runTask(Timeout timeout) {
+        try {
+            timeout.task.run();
+        } catch (Throwable t) {
+            JRuleLog.error(logger, LOG_NAME, t, "Error in expired timer task");
+        }
+    }
+
+    /**
+     * A scheduled task of the {@link JRuleTimingWheel}.
+     */
+    public static final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater
+                .newUpdater(Timeout.class, "state");
+
+        private final JRuleTimingWheel timingWheel;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+
+        // only touched by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(JRuleTimingWheel timingWheel, Runnable task, long deadline) {
+            this.timingWheel = timingWheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return true if the timeout was cancelled by this call, false if it already expired or was cancelled
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timingWheel.scheduledCount.decrementAndGet();
+            timingWheel.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        public boolean isDone() {
+            return state != ST_INIT;
+        }
+
+        /**
+         * @return remaining delay, zero if the deadline already passed
+         */
+        public Duration getDelay() {
+            return Duration.ofNanos(Math.max(0, deadline - (System.nanoTime() - timingWheel.startTime)));
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timingWheel.scheduledCount.decrementAndGet();
+            timingWheel.runTask(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Timeout[delay=%s, state=%s]", getDelay(), state);
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, only accessed by the worker thread.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -12,11 +12,25 @@
  */
 package org.openhab.automation.jrule.internal.generator;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.jrule.internal.JRuleConfig;
 
 import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
 
 /**
@@ -27,6 +41,11 @@ import freemarker.template.TemplateExceptionHandler;
 public abstract class JRuleAbstractClassGenerator {
     protected final JRuleConfig jRuleConfig;
     protected final Configuration freemarkerConfiguration;
+    // Fingerprint of the model each source file was last written from, by absolute path
+    private final Map<String, String> modelFingerprints = new ConcurrentHashMap<>();
+    private final AtomicBoolean sourcesChanged = new AtomicBoolean(false);
+    // Parsed templates by name, they are bundled resources and never change
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
 
     public JRuleAbstractClassGenerator(JRuleConfig jRuleConfig) {
         this.jRuleConfig = jRuleConfig;
@@ -59,4 +78,92 @@ public abstract class JRuleAbstractClassGenerator {
         // Do not fall back to higher scopes when reading a null loop variable:
         freemarkerConfiguration.setFallbackOnNullLoopVariable(false);
     }
+
+    /**
+     * Writes the source file from the template, unless the file exists and was written from an equal model.
+     *
+     * @return false if the source file was left untouched
+     */
+    protected boolean writeSource(File targetSourceFile, String templateName, Map<String, Object> processingModel)
+            throws IOException, TemplateException {
+        String path = targetSourceFile.getAbsolutePath();
+        String fingerprint = fingerprint(processingModel);
+        if (targetSourceFile.isFile() && fingerprint.equals(modelFingerprints.get(path))) {
+            return false;
+        }
+        modelFingerprints.remove(path);
+        try (FileWriter fileWriter = new FileWriter(targetSourceFile)) {
+            getTemplate(templateName).process(processingModel, fileWriter);
+        }
+        modelFingerprints.put(path, fingerprint);
+        sourcesChanged.set(true);
+        return true;
+    }
+
+    /**
+     * A parsed template is safe to process from several threads concurrently.
+     */
+    protected Template getTemplate(String templateName) throws IOException {
+        Template template = templates.get(templateName);
+        if (template == null) {
+            template = freemarkerConfiguration.getTemplate(templateName);
+            templates.put(templateName, template);
+        }
+        return template;
+    }
+
+    /**
+     * @return fingerprint of the model by absolute path of every source file written or restored
+     */
+    public Map<String, String> getModelFingerprints() {
+        return Map.copyOf(modelFingerprints);
+    }
+
+    /**
+     * Takes over the fingerprints of source files written by an earlier run, a source file is written again only if
+     * its model differs from the one it was written from then.
+     */
+    public void restoreModelFingerprints(Map<String, String> fingerprints) {
+        modelFingerprints.putAll(fingerprints);
+    }
+
+    /**
+     * @return true if a source file was written since the last call
+     */
+    public boolean takeSourcesChanged() {
+        return sourcesChanged.getAndSet(false);
+    }
+
+    static String fingerprint(Object model) {
+        StringBuilder canonical = new StringBuilder();
+        appendCanonical(canonical, model);
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // maps in key order, strings length prefixed, so different models never give the same text
+    private static void appendCanonical(StringBuilder canonical, @Nullable Object value) {
+        if (value instanceof Map<?, ?> map) {
+            canonical.append('{');
+            map.entrySet().stream().sorted(Comparator.comparing(entry -> String.valueOf(entry.getKey())))
+                    .forEach(entry -> {
+                        appendCanonical(canonical, String.valueOf(entry.getKey()));
+                        appendCanonical(canonical, entry.getValue());
+                    });
+            canonical.append('}');
+        } else if (value instanceof Collection<?> collection) {
+            canonical.append('[');
+            collection.forEach(element -> appendCanonical(canonical, element));
+            canonical.append(']');
+        } else if (value == null) {
+            canonical.append('-');
+        } else {
+            String string = value.toString();
+            canonical.append(string.length()).append(':').append(string);
+        }
+    }
 }
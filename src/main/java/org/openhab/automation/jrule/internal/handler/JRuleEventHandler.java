@@ -14,10 +14,10 @@ package org.openhab.automation.jrule.internal.handler;
 
 import java.lang.StackWalker.StackFrame;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNull;
-import org.openhab.automation.jrule.exception.JRuleItemNotFoundException;
 import org.openhab.automation.jrule.exception.JRuleRuntimeException;
 import org.openhab.automation.jrule.internal.JRuleLog;
 import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleExecutionContext;
@@ -47,6 +47,9 @@ import org.slf4j.LoggerFactory;
 public class JRuleEventHandler {
     private static final Map<Class<? extends JRuleValue>, Class<? extends State>> stateMapping = new HashMap<>();
     private static final Map<Class<? extends JRuleValue>, Class<? extends Command>> commandMapping = new HashMap<>();
+    // keyed on the concrete openHAB type, wrap the given instance without a string round-trip
+    private static final Map<Class<? extends Type>, Function<Type, JRuleValue>> stateValueFactories = new HashMap<>();
+    private static final Map<Class<? extends Type>, Function<Type, JRuleValue>> commandValueFactories = new HashMap<>();
 
     static {
         commandMapping.put(JRuleOpenClosedValue.class, OpenClosedType.class);
@@ -78,6 +81,41 @@ public class JRuleEventHandler {
         stateMapping.put(JRuleRewindFastforwardValue.class, RewindFastforwardType.class);
         stateMapping.put(JRuleQuantityValue.class, QuantityType.class);
         stateMapping.put(JRuleStringListValue.class, StringListType.class);
+
+        Map<Class<? extends Type>, Function<Type, JRuleValue>> valueFactories = new HashMap<>();
+        putEnumValues(valueFactories, OpenClosedType.class, JRuleOpenClosedValue.class);
+        putEnumValues(valueFactories, UpDownType.class, JRuleUpDownValue.class);
+        putEnumValues(valueFactories, OnOffType.class, JRuleOnOffValue.class);
+        putEnumValues(valueFactories, StopMoveType.class, JRuleStopMoveValue.class);
+        putEnumValues(valueFactories, PlayPauseType.class, JRulePlayPauseValue.class);
+        putEnumValues(valueFactories, RewindFastforwardType.class, JRuleRewindFastforwardValue.class);
+        putEnumValues(valueFactories, NextPreviousType.class, JRuleNextPreviousValue.class);
+        putValueFactory(valueFactories, StringType.class, JRuleStringValue::new);
+        putValueFactory(valueFactories, DateTimeType.class, JRuleDateTimeValue::new);
+        putValueFactory(valueFactories, RawType.class, JRuleRawValue::new);
+        putValueFactory(valueFactories, PointType.class, JRulePointValue::new);
+        putValueFactory(valueFactories, HSBType.class, JRuleHsbValue::new);
+        putValueFactory(valueFactories, DecimalType.class, JRuleDecimalValue::new);
+        putValueFactory(valueFactories, PercentType.class, JRulePercentValue::new);
+        putValueFactory(valueFactories, QuantityType.class, JRuleQuantityValue::new);
+        putValueFactory(valueFactories, StringListType.class, JRuleStringListValue::new);
+        stateMapping.values().forEach(type -> stateValueFactories.put(type, valueFactories.get(type)));
+        commandMapping.values().forEach(type -> commandValueFactories.put(type, valueFactories.get(type)));
+    }
+
+    private static <T extends Type> void putValueFactory(
+            Map<Class<? extends Type>, Function<Type, JRuleValue>> factories, Class<T> ohType,
+            Function<T, JRuleValue> factory) {
+        factories.put(ohType, type -> factory.apply(ohType.cast(type)));
+    }
+
+    private static <T extends Enum<T> & Type, V extends Enum<V> & JRuleValue> void putEnumValues(
+            Map<Class<? extends Type>, Function<Type, JRuleValue>> factories, Class<T> ohType, Class<V> valueType) {
+        Map<T, V> values = new EnumMap<>(ohType);
+        for (T constant : ohType.getEnumConstants()) {
+            values.put(constant, Enum.valueOf(valueType, constant.name()));
+        }
+        factories.put(ohType, values::get);
     }
 
     public static Class<? extends State> mapJRuleToOhType(Class<? extends JRuleValue> type) {
@@ -92,6 +130,8 @@ public class JRuleEventHandler {
 
     private ItemRegistry itemRegistry;
 
+    private final JRuleGroupGraph groupGraph = new JRuleGroupGraph();
+
     private final Logger logger = LoggerFactory.getLogger(JRuleEventHandler.class);
 
     private JRuleEventHandler() {
@@ -242,53 +282,29 @@ public class JRuleEventHandler {
 
     public void setItemRegistry(@NonNull ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        groupGraph.setItemRegistry(itemRegistry);
+    }
+
+    public JRuleGroupGraph getGroupGraph() {
+        return groupGraph;
     }
 
     public Set<String> getGroupMemberNames(String groupName, boolean recursive) {
-        return getGroupMemberItems(groupName, recursive).stream().map(JRuleItem::getName).collect(Collectors.toSet());
+        if (!groupGraph.isGroup(groupName)) {
+            throw new JRuleRuntimeException(String.format("Given itemname '%s' is not a groupitem", groupName));
+        }
+        return groupGraph.getMembers(groupName, recursive);
     }
 
     public Set<JRuleItem> getGroupMemberItems(String groupName, boolean recursive) {
-        try {
-            Item item = itemRegistry.getItem(groupName);
-            if (item instanceof GroupItem) {
-                Set<JRuleItem> out = new HashSet<>();
-                GroupItem g = (GroupItem) item;
-                g.getMembers().stream().map(item1 -> JRuleItemRegistry.get(item1.getName())).forEach(jRuleItem -> {
-                    if (recursive) {
-                        out.add(jRuleItem);
-                        if (jRuleItem.isGroup()) {
-                            out.addAll(getGroupMemberItems(jRuleItem.getName(), recursive));
-                        }
-                    } else {
-                        out.add(jRuleItem);
-                    }
-                });
-                return out;
-            } else {
-                throw new JRuleRuntimeException(String.format("Given itemname '%s' is not a groupitem", groupName));
-            }
-        } catch (ItemNotFoundException e) {
-            throw new JRuleItemNotFoundException(
-                    String.format("Item not found in registry for groupname '%s'", groupName));
-        }
+        return getGroupMemberNames(groupName, recursive).stream().map(JRuleItemRegistry::get)
+                .collect(Collectors.toSet());
     }
 
     public List<JRuleGroupItem<? extends JRuleItem>> getGroupItems(String itemName, boolean recursive) {
-        try {
-            Item item = itemRegistry.getItem(itemName);
-            List<JRuleGroupItem<? extends JRuleItem>> list = item.getGroupNames().stream().map(JRuleItemRegistry::get)
-                    .filter(JRuleItem::isGroup).map(i -> (JRuleGroupItem<? extends JRuleItem>) i)
-                    .collect(Collectors.toList());
-            if (recursive) {
-                list.addAll(new ArrayList<>(list).stream().map(i -> getGroupItems(i.getName(), recursive))
-                        .flatMap(Collection::stream).collect(Collectors.toList()));
-            }
-            return list.stream().distinct().collect(Collectors.toList());
-        } catch (ItemNotFoundException e) {
-            throw new JRuleItemNotFoundException(
-                    String.format("Item not found in registry for item-name '%s'", itemName));
-        }
+        return groupGraph.getParentGroups(itemName, recursive).stream().map(JRuleItemRegistry::get)
+                .filter(JRuleItem::isGroup).map(i -> (JRuleGroupItem<? extends JRuleItem>) i)
+                .collect(Collectors.toList());
     }
 
     public ItemRegistry getItemRegistry() {
@@ -333,30 +349,33 @@ public class JRuleEventHandler {
                 .orElseThrow(() -> new JRuleRuntimeException(String.format("no mapping for type '%s' to '%s'",
                         state.getClass().getSimpleName(), valueClass.getSimpleName())));
 
+        Function<Type, JRuleValue> factory = stateValueFactories.get(as.getClass());
+        if (factory != null) {
+            JRuleValue value = factory.apply(as);
+            if (valueClass.isInstance(value)) {
+                return valueClass.cast(value);
+            }
+        }
         return toValue(as.toFullString(), valueClass);
     }
 
     public JRuleValue toValue(Command itemCommand) {
-        Class<? extends JRuleValue> valueClass = commandMapping.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(itemCommand.getClass())).findFirst()
-                .map((Map.Entry<Class<? extends JRuleValue>, Class<? extends Command>> classClassEntry) -> Objects
-                        .requireNonNull(classClassEntry.getKey()))
-                .orElseThrow(
-                        () -> new IllegalStateException("cannot find mapping for oh type: " + itemCommand.getClass()));
-        return toValue(itemCommand.toFullString(), valueClass);
+        Function<Type, JRuleValue> factory = commandValueFactories.get(itemCommand.getClass());
+        if (factory == null) {
+            throw new IllegalStateException("cannot find mapping for oh type: " + itemCommand.getClass());
+        }
+        return factory.apply(itemCommand);
     }
 
     public JRuleValue toValue(State itemState) {
         if (itemState == null || itemState instanceof UnDefType) {
             return null;
         }
-        Class<? extends JRuleValue> valueClass = stateMapping.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(itemState.getClass())).findFirst()
-                .map((Map.Entry<Class<? extends JRuleValue>, Class<? extends State>> classClassEntry) -> Objects
-                        .requireNonNull(classClassEntry.getKey()))
-                .orElseThrow(
-                        () -> new IllegalStateException("cannot find mapping for oh type: " + itemState.getClass()));
-        return toValue(itemState.toFullString(), valueClass);
+        Function<Type, JRuleValue> factory = stateValueFactories.get(itemState.getClass());
+        if (factory == null) {
+            throw new IllegalStateException("cannot find mapping for oh type: " + itemState.getClass());
+        }
+        return factory.apply(itemState);
     }
 
     public JRuleValue getValue(String name) {
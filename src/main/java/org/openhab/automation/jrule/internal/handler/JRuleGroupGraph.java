@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.handler;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.jrule.exception.JRuleItemNotFoundException;
+import org.openhab.core.events.Event;
+import org.openhab.core.items.GroupItem;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.dto.ItemDTO;
+import org.openhab.core.items.events.ItemAddedEvent;
+import org.openhab.core.items.events.ItemRemovedEvent;
+import org.openhab.core.items.events.ItemUpdatedEvent;
+
+/**
+ * The {@link JRuleGroupGraph} caches which groups an item belongs to and which members a group has. An item is
+ * loaded from the item registry the first time it is looked at and is then kept up to date from item added, updated
+ * and removed events, only touching the item and its old and new parent groups. Transitive members and parent groups
+ * are computed once and served as immutable snapshots until a membership changes.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleGroupGraph {
+    private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+    // replaced as a whole on every change, so a closure computed from old memberships is never served again
+    private volatile Closures closures = new Closures();
+    private @Nullable ItemRegistry itemRegistry;
+
+    public synchronized void setItemRegistry(ItemRegistry itemRegistry) {
+        this.itemRegistry = itemRegistry;
+        clear();
+    }
+
+    public boolean isGroup(String itemName) {
+        return getNode(itemName).group();
+    }
+
+    /**
+     * @return the direct parent groups of the item, in the order of the item definition
+     */
+    public Set<String> getParentGroups(String itemName) {
+        return getNode(itemName).parents();
+    }
+
+    public Set<String> getParentGroups(String itemName, boolean recursive) {
+        Node node = getNode(itemName);
+        if (!recursive) {
+            return node.parents();
+        }
+        Closures current = closures;
+        Set<String> parents = current.parents().get(itemName);
+        if (parents == null) {
+            parents = collect(node.parents(), Node::parents);
+            current.parents().put(itemName, parents);
+        }
+        return parents;
+    }
+
+    public Set<String> getMembers(String groupName, boolean recursive) {
+        Node node = getNode(groupName);
+        if (!recursive) {
+            return node.members();
+        }
+        Closures current = closures;
+        Set<String> members = current.members().get(groupName);
+        if (members == null) {
+            members = collect(node.members(), Node::members);
+            current.members().put(groupName, members);
+        }
+        return members;
+    }
+
+    /**
+     * Applies an item registry event, other events are ignored.
+     */
+    public void handleEvent(Event event) {
+        if (event instanceof ItemAddedEvent addedEvent) {
+            update(addedEvent.getItem().name, Set.of(), addedEvent.getItem());
+        } else if (event instanceof ItemUpdatedEvent updatedEvent) {
+            update(updatedEvent.getItem().name, toSet(updatedEvent.getOldItem().groupNames), updatedEvent.getItem());
+        } else if (event instanceof ItemRemovedEvent removedEvent) {
+            update(removedEvent.getItem().name, toSet(removedEvent.getItem().groupNames), null);
+        }
+    }
+
+    public synchronized void clear() {
+        nodes.clear();
+        closures = new Closures();
+    }
+
+    private synchronized void update(String itemName, Set<String> knownParents, @Nullable ItemDTO item) {
+        Node previous = nodes.remove(itemName);
+        Set<String> oldParents = previous != null ? previous.parents() : knownParents;
+        Set<String> newParents = item != null ? toSet(item.groupNames) : Set.of();
+        // a group keeps its members, an item turning into a group is loaded again on next use
+        if (item != null && previous != null && previous.group() == GroupItem.TYPE.equals(item.type)) {
+            nodes.put(itemName, new Node(previous.group(), newParents, previous.members()));
+        }
+        for (String parent : oldParents) {
+            if (!newParents.contains(parent)) {
+                nodes.computeIfPresent(parent, (name, node) -> node.withoutMember(itemName));
+            }
+        }
+        for (String parent : newParents) {
+            if (!oldParents.contains(parent)) {
+                nodes.computeIfPresent(parent, (name, node) -> node.group() ? node.withMember(itemName) : node);
+            }
+        }
+        closures = new Closures();
+    }
+
+    private Node getNode(String itemName) {
+        Node node = nodes.get(itemName);
+        return node != null ? node : loadNode(itemName);
+    }
+
+    private @Nullable Node findNode(String itemName) {
+        try {
+            return getNode(itemName);
+        } catch (JRuleItemNotFoundException e) {
+            return null;
+        }
+    }
+
+    private synchronized Node loadNode(String itemName) {
+        Node node = nodes.get(itemName);
+        if (node != null) {
+            return node;
+        }
+        ItemRegistry registry = itemRegistry;
+        if (registry == null) {
+            throw new JRuleItemNotFoundException(String.format("No item registry to look up item '%s'", itemName));
+        }
+        final Item item;
+        try {
+            item = registry.getItem(itemName);
+        } catch (ItemNotFoundException e) {
+            throw new JRuleItemNotFoundException(
+                    String.format("Item not found in registry for item-name '%s'", itemName));
+        }
+        Set<String> members = Set.of();
+        if (item instanceof GroupItem groupItem) {
+            members = toSet(groupItem.getMembers().stream().map(Item::getName).toList());
+        }
+        node = new Node(GroupItem.TYPE.equals(item.getType()), toSet(item.getGroupNames()), members);
+        nodes.put(itemName, node);
+        return node;
+    }
+
+    private Set<String> collect(Set<String> start, Function<Node, Set<String>> edges) {
+        Set<String> result = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(start);
+        while (!pending.isEmpty()) {
+            String name = pending.poll();
+            if (result.add(name)) {
+                Node node = findNode(name);
+                if (node != null) {
+                    pending.addAll(edges.apply(node));
+                }
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static Set<String> toSet(@Nullable Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return Set.of();
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(names));
+    }
+
+    private record Node(boolean group, Set<String> parents, Set<String> members) {
+        Node withMember(String member) {
+            Set<String> copy = new LinkedHashSet<>(members);
+            copy.add(member);
+            return new Node(group, parents, Collections.unmodifiableSet(copy));
+        }
+
+        Node withoutMember(String member) {
+            Set<String> copy = new LinkedHashSet<>(members);
+            copy.remove(member);
+            return new Node(group, parents, Collections.unmodifiableSet(copy));
+        }
+    }
+
+    private record Closures(Map<String, Set<String>> members, Map<String, Set<String>> parents) {
+        Closures() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -16,7 +16,6 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
@@ -27,9 +26,16 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -42,6 +48,7 @@ import org.openhab.automation.jrule.internal.JRuleLog;
 import org.openhab.automation.jrule.internal.JRuleUtil;
 import org.openhab.automation.jrule.internal.compiler.JRuleCompiler;
 import org.openhab.automation.jrule.internal.compiler.JRuleJarExtractor;
+import org.openhab.automation.jrule.internal.compiler.JRuleStartupCache;
 import org.openhab.automation.jrule.internal.engine.JRuleEngine;
 import org.openhab.automation.jrule.internal.events.JRuleEventSubscriber;
 import org.openhab.automation.jrule.internal.watch.JRuleRulesWatcher;
@@ -86,6 +93,15 @@ import org.slf4j.LoggerFactory;
 public class JRuleHandler implements PropertyChangeListener {
 
     private static final String LOG_NAME_HANDLER = "JRuleHandler";
+    // Replaced rule classes stay loaded until the next full reload
+    private static final int MAX_RULE_CLASS_SWAPS = 20;
+    // Source generation and compilation are cpu bound, leave cores to openHAB while starting up
+    private static final int MAX_GENERATOR_THREADS = 4;
+    private static final String CACHE_SECTION_ITEMS = "items";
+    private static final String CACHE_SECTION_ITEM_NAMES = "itemNames";
+    private static final String CACHE_SECTION_THINGS = "things";
+    private static final String CACHE_SECTION_ACTIONS = "actions";
+    private static final String CACHE_SECTION_RULES = "rules";
 
     @NonNullByDefault({})
     private final ItemRegistry itemRegistry;
@@ -123,6 +139,16 @@ public class JRuleHandler implements PropertyChangeListener {
     private final JRuleDelayedDebouncingExecutor delayedRulesReloader;
     private final JRuleDelayedDebouncingExecutor delayedItemsCompiler;
 
+    // Class loader of the current rule classes, each hot swap adds a child loader for the changed classes only
+    @Nullable
+    private JRuleClassLoader ruleClassLoader;
+    private int ruleClassSwaps = 0;
+    private volatile boolean jarRulesChanged = false;
+    // a generated source was deleted or failed to compile, so the generated sources have to be compiled again
+    private boolean generatedSourcesStale = false;
+    private final ForkJoinPool generatorPool;
+    private final JRuleStartupCache startupCache;
+
     public JRuleHandler(JRuleConfig config, ItemRegistry itemRegistry, ItemChannelLinkRegistry itemChannelLinkRegistry,
             ThingRegistry thingRegistry, ThingManager thingManager, EventPublisher eventPublisher,
             JRuleEventSubscriber eventSubscriber, VoiceManager voiceManager, AudioHTTPServer audioHTTPServer,
@@ -143,6 +169,9 @@ public class JRuleHandler implements PropertyChangeListener {
         thingGenerator = new JRuleThingClassGenerator(config);
         actionGenerator = new JRuleActionClassGenerator(config);
         compiler = new JRuleCompiler(config);
+        generatorPool = createGeneratorPool();
+        startupCache = new JRuleStartupCache(new File(config.getJarDirectory(), JRuleStartupCache.CACHE_FILE_NAME),
+                JRuleStartupCache.getVersions());
 
         final JRuleEventHandler jRuleEventHandler = JRuleEventHandler.get();
         jRuleEventHandler.setEventPublisher(eventPublisher);
@@ -199,17 +228,22 @@ public class JRuleHandler implements PropertyChangeListener {
 
         logInfo("Initializing JRule writing external Jars: {}", config.getJarDirectory());
 
+        // Output of the last run is reused as far as it is still valid
+        restoreStartupCache();
+
         // Extract and copy jrules.jar as well as openhab-core.jar
-        jarExtractor.extractJRuleJar(compiler.getJarPath(JRuleCompiler.JAR_JRULE_NAME));
-        jarExtractor.extractOpenhabCoreJar(compiler.getJarPath(JRuleCompiler.JAR_OPENHAB_CORE_NAME));
+        extractJar(JRuleCompiler.JAR_JRULE_NAME, jarExtractor::extractJRuleJar);
+        extractJar(JRuleCompiler.JAR_OPENHAB_CORE_NAME, jarExtractor::extractOpenhabCoreJar);
 
         // Generate source files for all items and things
         Collection<Item> items = itemRegistry.getItems();
         Collection<Thing> things = thingRegistry.getAll();
-        things.forEach(thingGenerator::generateThingSource);
+        List<Runnable> generators = new ArrayList<>();
+        things.forEach(thing -> generators.add(() -> thingGenerator.generateThingSource(thing)));
         things.stream().filter(thing -> thing.getHandler() != null).filter(
                 thing -> thing.getHandler().getServices().stream().anyMatch(ThingActions.class::isAssignableFrom))
-                .forEach(actionGenerator::generateActionSource);
+                .forEach(thing -> generators.add(() -> actionGenerator.generateActionSource(thing)));
+        runInParallel(generators);
 
         // Compilation of items
         compileGeneratedSourcesInternal();
@@ -217,6 +251,7 @@ public class JRuleHandler implements PropertyChangeListener {
         // Compile rules
         logInfo("Compiling rules");
         compiler.compileRules();
+        saveStartupCache();
 
         // Reload rules
         createRuleInstances();
@@ -237,6 +272,8 @@ public class JRuleHandler implements PropertyChangeListener {
         delayedItemsCompiler.shutdown();
         JRuleEngine.get().reset();
         JRuleEngine.get().dispose();
+        compiler.dispose();
+        generatorPool.shutdownNow();
         if (directoryWatcher != null) {
             directoryWatcher.removePropertyChangeListener(this);
         }
@@ -261,6 +298,8 @@ public class JRuleHandler implements PropertyChangeListener {
         try {
             urlList.add(new File(config.getSourceDirectory()).toURI().toURL());
             urlList.add(new File(config.getRulesRootDirectory()).toURI().toURL());
+            // generated classes of an earlier run, in case they could not be compiled this time
+            urlList.add(new File(compiler.getJarPath(JRuleCompiler.JAR_JRULE_GENERATED_JAR_NAME)).toURI().toURL());
         } catch (MalformedURLException x) {
             logError("Failed to build class path for creating rule instance");
         }
@@ -268,12 +307,15 @@ public class JRuleHandler implements PropertyChangeListener {
         urlList.addAll(jarRulesPath);
         logDebug("Classloader URLs: {}", urlList);
 
+        final Map<String, byte[]> generatedClasses = compiler.getGeneratedClasses();
         final JRuleClassLoader loader = new JRuleClassLoader(urlList.toArray(URL[]::new),
-                JRuleUtil.class.getClassLoader());
+                JRuleUtil.class.getClassLoader(), null, generatedClasses);
+        ruleClassLoader = loader;
+        ruleClassSwaps = 0;
 
-        // Load item/thing/action classes first
-        compiler.loadClassesFromFolder(loader, new File(config.getSourceDirectory()), JRuleConfig.GENERATED_PACKAGE,
-                false);
+        // Load item/thing/action classes first, straight from the compiler output
+        logInfo("Number of generated classes to load in to memory: {}", generatedClasses.size());
+        generatedClasses.keySet().stream().sorted().forEach(className -> compiler.loadClass(loader, className, false));
         // Clear registry from old items
         JRuleItemRegistry.clear();
         JRuleThingRegistry.clear();
@@ -288,6 +330,10 @@ public class JRuleHandler implements PropertyChangeListener {
             logger.error("Could not instantiate JRuleItems file", e);
         }
 
+        // Create the items not referenced by JRuleItems now, instead of on their first event
+        int prewarmedItems = JRuleItemRegistry.prewarm(itemRegistry.getItems());
+        logDebug("Pre-warmed {} items", prewarmedItems);
+
         // Reload Things class - this will also instantiate all things and load them to the registry
         try {
             Class<?> cls = Class.forName(config.getGeneratedThingPackage() + ".JRuleThings", true, loader);
@@ -329,10 +375,9 @@ public class JRuleHandler implements PropertyChangeListener {
     @Nullable
     private synchronized Boolean compileGeneratedSourcesInternal() {
         logInfo("Compiling generated sources");
-        itemGenerator.generateItemsSource(itemRegistry.getItems(), metadataRegistry);
-        itemNameGenerator.generateItemNamesSource(itemRegistry.getItems(), metadataRegistry);
-        thingGenerator.generateThingsSource(thingRegistry.getAll());
-        Set<Thing> filteredThings = thingRegistry.getAll().stream().filter(thing -> {
+        Collection<Item> items = itemRegistry.getItems();
+        Collection<Thing> things = thingRegistry.getAll();
+        Set<Thing> filteredThings = things.stream().filter(thing -> {
             boolean b = thing.getHandler() != null;
             logDebug("has handler? -> {}", b);
             return b;
@@ -344,17 +389,36 @@ public class JRuleHandler implements PropertyChangeListener {
         }).collect(Collectors.toSet());
         logDebug("generating actions for: {}",
                 filteredThings.stream().map(thing -> thing.getUID().toString()).collect(Collectors.joining(", ")));
-        filteredThings.forEach(actionGenerator::generateActionSource);
-        actionGenerator.generateActionsSource(filteredThings);
+        List<Runnable> generators = new ArrayList<>();
+        generators.add(() -> itemGenerator.generateItemsSource(items, metadataRegistry));
+        generators.add(() -> itemNameGenerator.generateItemNamesSource(items, metadataRegistry));
+        generators.add(() -> thingGenerator.generateThingsSource(things));
+        generators.add(() -> actionGenerator.generateActionsSource(filteredThings));
+        filteredThings.forEach(thing -> generators.add(() -> actionGenerator.generateActionSource(thing)));
+        runInParallel(generators);
+        boolean sourcesChanged = generatedSourcesStale | itemGenerator.takeSourcesChanged()
+                | itemNameGenerator.takeSourcesChanged() | thingGenerator.takeSourcesChanged()
+                | actionGenerator.takeSourcesChanged();
+        if (!sourcesChanged && !compiler.getGeneratedClasses().isEmpty()
+                && new File(compiler.getJarPath(JRuleCompiler.JAR_JRULE_GENERATED_JAR_NAME)).isFile()) {
+            logInfo("Generated sources unchanged, skipping compilation");
+            getModelFingerprints().forEach(startupCache::putFileFingerprints);
+            return false;
+        }
+        generatedSourcesStale = false;
         Boolean result = false;
-        if (compiler.compileGeneratedSource()) {
+        if (compiler.compileGeneratedSource(generatorPool)) {
 
             logInfo("Creating " + JRuleCompiler.JAR_JRULE_GENERATED_JAR_NAME);
             JRuleUtil.createJarFile(config.getSourceDirectory(),
-                    compiler.getJarPath(JRuleCompiler.JAR_JRULE_GENERATED_JAR_NAME));
+                    compiler.getJarPath(JRuleCompiler.JAR_JRULE_GENERATED_JAR_NAME), compiler.getGeneratedClasses());
+            // recorded with the stamps of the compiled sources, sources written later are not taken as compiled
+            getModelFingerprints().forEach(startupCache::putFileFingerprints);
+            saveStartupCache();
             result = true;
         } else {
             logError("Compilation failed, not creating jar file");
+            generatedSourcesStale = true;
 
         }
         return result;
@@ -362,8 +426,18 @@ public class JRuleHandler implements PropertyChangeListener {
 
     @Nullable
     private synchronized Boolean compileAndReloadRules() {
+        boolean compiled = compiler.compileRules();
+        saveStartupCache();
+        Optional<Set<String>> changedRuleClasses = compiler.getChangedRuleClasses();
+        JRuleClassLoader currentLoader = ruleClassLoader;
+        if (compiled && changedRuleClasses.isPresent() && currentLoader != null && !jarRulesChanged
+                && ruleClassSwaps < MAX_RULE_CLASS_SWAPS) {
+            reloadRuleClasses(currentLoader, changedRuleClasses.get());
+            logInfo("JRule Engine Rule Classes Reloaded! {}", JRuleEngine.get().getRuleLoadingStatistics());
+            return true;
+        }
+        jarRulesChanged = false;
         eventSubscriber.pauseEventDelivery();
-        compiler.compileRules();
         JRuleEngine.get().reset();
         createRuleInstances();
         logInfo("JRule Engine Rules Reloaded! {}", JRuleEngine.get().getRuleLoadingStatistics());
@@ -371,6 +445,28 @@ public class JRuleHandler implements PropertyChangeListener {
         return true;
     }
 
+    /**
+     * Loads the changed rule classes with a child class loader, all other classes are still resolved by the current
+     * loader, and swaps their rules in place without pausing the event delivery.
+     */
+    private void reloadRuleClasses(JRuleClassLoader currentLoader, Set<String> changedRuleClasses) {
+        if (changedRuleClasses.isEmpty()) {
+            logInfo("No rule classes changed");
+            return;
+        }
+        logDebug("Reloading rule classes: {}", changedRuleClasses);
+        final JRuleClassLoader loader = new JRuleClassLoader(currentLoader.getURLs(), currentLoader,
+                changedRuleClasses, Map.of());
+        final File rulesRoot = new File(config.getRulesRootDirectory());
+        JRuleEngine.get().replaceRuleClasses(changedRuleClasses,
+                () -> changedRuleClasses.stream().filter(className -> className.startsWith(config.getRulesPackage()))
+                        .filter(className -> new File(rulesRoot,
+                                className.replace('.', File.separatorChar) + JRuleConstants.CLASS_FILE_TYPE).isFile())
+                        .sorted().forEach(className -> compiler.loadClass(loader, className, true)));
+        ruleClassLoader = loader;
+        ruleClassSwaps++;
+    }
+
     @Nullable
     private Boolean compileAndReloadGeneratedSources() {
         if (compileGeneratedSourcesInternal()) {
@@ -462,6 +558,10 @@ public class JRuleHandler implements PropertyChangeListener {
                 || JRuleRulesWatcher.PROPERTY_ENTRY_DELETE.equals(property)) {
             Path newValue = (Path) evt.getNewValue();
             logDebug("Directory watcher new value: {}", newValue);
+            if (newValue != null && newValue.getFileName().toString().endsWith(JRuleConstants.JAR_FILE_TYPE)) {
+                // jar rules are not compiled, so only a full reload picks them up
+                jarRulesChanged = true;
+            }
             delayedRulesReloader.call(this::compileAndReloadRules);
         }
     }
@@ -479,6 +579,68 @@ public class JRuleHandler implements PropertyChangeListener {
         rulesDirWatcherThread.start();
     }
 
+    private void extractJar(String jarName, Consumer<String> extractor) {
+        File jar = new File(compiler.getJarPath(jarName));
+        if (startupCache.isJarUnchanged(jar)) {
+            logDebug("Keeping extracted jar: {}", jar.getAbsolutePath());
+            return;
+        }
+        extractor.accept(jar.getPath());
+    }
+
+    private void restoreStartupCache() {
+        if (!startupCache.load()) {
+            logInfo("No valid startup cache, generating and compiling all sources");
+            return;
+        }
+        itemGenerator.restoreModelFingerprints(startupCache.getFileFingerprints(CACHE_SECTION_ITEMS));
+        itemNameGenerator.restoreModelFingerprints(startupCache.getFileFingerprints(CACHE_SECTION_ITEM_NAMES));
+        thingGenerator.restoreModelFingerprints(startupCache.getFileFingerprints(CACHE_SECTION_THINGS));
+        actionGenerator.restoreModelFingerprints(startupCache.getFileFingerprints(CACHE_SECTION_ACTIONS));
+        File generatedJar = new File(compiler.getJarPath(JRuleCompiler.JAR_JRULE_GENERATED_JAR_NAME));
+        if (startupCache.isJarUnchanged(generatedJar)) {
+            compiler.restoreGeneratedClasses(generatedJar);
+        }
+        compiler.restoreRulesState(startupCache.getSection(CACHE_SECTION_RULES));
+        logInfo("Using startup cache, only changed sources are generated and compiled");
+    }
+
+    private Map<String, Map<String, String>> getModelFingerprints() {
+        return Map.of(CACHE_SECTION_ITEMS, itemGenerator.getModelFingerprints(), CACHE_SECTION_ITEM_NAMES,
+                itemNameGenerator.getModelFingerprints(), CACHE_SECTION_THINGS, thingGenerator.getModelFingerprints(),
+                CACHE_SECTION_ACTIONS, actionGenerator.getModelFingerprints());
+    }
+
+    private void saveStartupCache() {
+        startupCache.putJar(new File(compiler.getJarPath(JRuleCompiler.JAR_JRULE_NAME)));
+        startupCache.putJar(new File(compiler.getJarPath(JRuleCompiler.JAR_OPENHAB_CORE_NAME)));
+        startupCache.putJar(new File(compiler.getJarPath(JRuleCompiler.JAR_JRULE_GENERATED_JAR_NAME)));
+        startupCache.putSection(CACHE_SECTION_RULES, compiler.getRulesState());
+        startupCache.save();
+    }
+
+    private ForkJoinPool createGeneratorPool() {
+        final ClassLoader classLoader = JRuleHandler.class.getClassLoader();
+        final ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("JRule-Generator-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        };
+        int parallelism = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_GENERATOR_THREADS));
+        return new ForkJoinPool(parallelism, threadFactory, null, false);
+    }
+
+    /**
+     * Runs the source generators on the generator pool and waits for all of them. Every generator writes its own
+     * source file and logs its own errors.
+     */
+    private void runInParallel(List<Runnable> generators) {
+        logDebug("Generating {} sources with {} threads", generators.size(), generatorPool.getParallelism());
+        List<ForkJoinTask<?>> tasks = generators.stream().<ForkJoinTask<?>> map(generatorPool::submit).toList();
+        tasks.forEach(ForkJoinTask::join);
+    }
+
     private synchronized boolean deleteFile(File f) {
         if (f.exists()) {
             logDebug("Deleting file: {}", f.getAbsolutePath());
@@ -488,22 +650,25 @@ public class JRuleHandler implements PropertyChangeListener {
     }
 
     private synchronized void deleteSourceFileForItem(String itemName) {
-        deleteFile(new File(new StringBuilder().append(config.getItemsDirectory()).append(File.separator)
+        File sourceFile = new File(new StringBuilder().append(config.getItemsDirectory()).append(File.separator)
                 .append(config.getGeneratedItemPrefix()).append(itemName).append(JRuleConstants.JAVA_FILE_TYPE)
-                .toString()));
+                .toString());
+        generatedSourcesStale |= deleteFile(sourceFile);
     }
 
     private synchronized void deleteSourceFileForThing(String thingUID) {
-        deleteFile(new File(new StringBuilder().append(config.getThingsDirectory()).append(File.separator)
+        File sourceFile = new File(new StringBuilder().append(config.getThingsDirectory()).append(File.separator)
                 .append(config.getGeneratedItemPrefix()).append(thingUID.replace(':', '_'))
-                .append(JRuleConstants.JAVA_FILE_TYPE).toString()));
+                .append(JRuleConstants.JAVA_FILE_TYPE).toString());
+        generatedSourcesStale |= deleteFile(sourceFile);
     }
 
     private synchronized void deleteSourceFileForAction(String thingUID) {
-        deleteFile(new File(new StringBuilder().append(config.getActionsDirectory()).append(File.separator)
+        File sourceFile = new File(new StringBuilder().append(config.getActionsDirectory()).append(File.separator)
                 .append(config.getGeneratedItemPrefix())
                 .append(JRuleActionClassGenerator.getActionFriendlyName(thingUID)).append(JRuleConstants.JAVA_FILE_TYPE)
-                .toString()));
+                .toString());
+        generatedSourcesStale |= deleteFile(sourceFile);
     }
 
     private void logDebug(String message, Object... parameters) {
@@ -524,32 +689,55 @@ public class JRuleHandler implements PropertyChangeListener {
 
     private static class JRuleClassLoader extends URLClassLoader {
         private final static Logger logger = LoggerFactory.getLogger(JRuleClassLoader.class);
-
-        public JRuleClassLoader(URL[] urls, @Nullable ClassLoader parent) {
+        // Classes defined by this loader itself, null for all classes found in its urls
+        @Nullable
+        private final Set<String> ownClasses;
+        // Byte code compiled to memory, looked up before the urls
+        private final Map<String, byte[]> memoryClasses;
+
+        public JRuleClassLoader(URL[] urls, @Nullable ClassLoader parent, @Nullable Set<String> ownClasses,
+                Map<String, byte[]> memoryClasses) {
             super(urls, parent);
+            this.ownClasses = ownClasses;
+            this.memoryClasses = memoryClasses;
         }
 
         @Override
         public Class<?> loadClass(String name) throws ClassNotFoundException {
-            try {
-                for (URL url : getURLs()) {
-                    if (url.getProtocol().equals("file")) {
-                        File classFile = new File(url.getFile(),
-                                name.replaceAll("\\.", "/") + JRuleConstants.CLASS_FILE_TYPE);
-                        try (InputStream is = new FileInputStream(classFile)) {
-                            byte[] buf = is.readAllBytes();
-                            return defineClass(name, buf, 0, buf.length);
+            Set<String> own = ownClasses;
+            if (own != null && !own.contains(name)) {
+                return super.loadClass(name);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loadedClass = findLoadedClass(name);
+                if (loadedClass != null) {
+                    return loadedClass;
+                }
+                byte[] memoryClass = memoryClasses.get(name);
+                if (memoryClass != null) {
+                    return defineClass(name, memoryClass, 0, memoryClass.length);
+                }
+                try {
+                    for (URL url : getURLs()) {
+                        if (url.getProtocol().equals("file")) {
+                            File classFile = new File(url.getFile(),
+                                    name.replaceAll("\\.", "/") + JRuleConstants.CLASS_FILE_TYPE);
+                            if (!classFile.isFile()) {
+                                continue;
+                            }
+                            try (InputStream is = new FileInputStream(classFile)) {
+                                byte[] buf = is.readAllBytes();
+                                return defineClass(name, buf, 0, buf.length);
+                            }
                         }
                     }
+                } catch (IOException e) {
+                    JRuleLog.warn(logger, LOG_NAME_HANDLER,
+                            "Trouble loading class {} from file system, deferring to parent clasloader: {}", name,
+                            e.toString());
                 }
-                return super.loadClass(name);
-            } catch (FileNotFoundException e) {
-                return super.loadClass(name);
-            } catch (IOException e) {
-                JRuleLog.warn(logger, LOG_NAME_HANDLER,
-                        "Trouble loading class {} from file system, deferring to parent clasloader: {}", name,
-                        e.toString());
-                return super.loadClass(name);
+                // a class of its own must not come from the parent, which may hold the replaced version
+                return own != null ? findClass(name) : super.loadClass(name);
             }
         }
     }
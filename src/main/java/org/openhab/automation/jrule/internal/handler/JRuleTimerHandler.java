@@ -13,20 +13,13 @@
 package org.openhab.automation.jrule.internal.handler;
 
 import java.time.Duration;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.eclipse.jdt.annotation.Nullable;
@@ -34,19 +27,27 @@ import org.openhab.automation.jrule.internal.JRuleLog;
 import org.openhab.automation.jrule.internal.engine.JRuleEngine;
 import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleExecutionContext;
 import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleLocalTimerExecutionContext;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleMdcSnapshot;
+import org.openhab.automation.jrule.internal.engine.timer.JRuleTimeLocks;
+import org.openhab.automation.jrule.internal.engine.timer.JRuleTimingWheel;
 import org.openhab.automation.jrule.rules.JRule;
+import org.openhab.automation.jrule.rules.JRuleRepeatMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 /**
- * The {@link JRuleTimerHandler} handles all things with internal rule timers
+ * The {@link JRuleTimerHandler} handles all things with internal rule timers. Timers are indexed by name and scheduled
+ * on a {@link JRuleTimingWheel}, so creating, cancelling and rescheduling a timer does not depend on the number of
+ * running timers.
  *
  * @author Robert Delbrück - Initial contribution
  */
 public class JRuleTimerHandler {
     private static final Logger logger = LoggerFactory.getLogger(JRuleTimerHandler.class);
-    public static final String LOCK_PREFIX = "$LOCK$-";
+    /**
+     * Number of repeats for a repeating timer running until it is cancelled
+     */
+    public static final int REPEAT_FOREVER = -1;
     private static volatile JRuleTimerHandler instance = null;
 
     public static JRuleTimerHandler get() {
@@ -60,181 +61,270 @@ public class JRuleTimerHandler {
         return instance;
     }
 
-    private final CopyOnWriteArrayList<JRuleTimer> timers = new CopyOnWriteArrayList<>();
+    private final Map<String, JRuleTimer> timers = new ConcurrentHashMap<>();
+    private final JRuleTimeLocks timeLocks = new JRuleTimeLocks();
 
     private static final ExecutorService executorService = Executors
             .newCachedThreadPool(target -> new Thread(target, "jrule-timer"));
 
+    private static final JRuleTimingWheel timingWheel = new JRuleTimingWheel(Duration.ofMillis(10), 512,
+            "jrule-timer-wheel");
+
     private JRuleTimerHandler() {
     }
 
-    public synchronized JRuleTimer createOrReplaceTimer(@Nullable final String timerName, Duration delay,
+    public JRuleTimer createOrReplaceTimer(@Nullable final String timerName, Duration delay,
             Consumer<JRuleTimer> function, @Nullable JRuleExecutionContext context) {
         final String newTimerName = Optional.ofNullable(timerName).orElse(UUID.randomUUID().toString());
-        cancelTimer(newTimerName);
-        return createTimer(newTimerName, delay, function, context);
+        JRuleTimer timer = new JRuleTimer(newTimerName, function, context != null ? context : getCurrentContext(),
+                delay);
+        replaceTimer(timer);
+        JRuleLog.debug(logger, timer.getLogName(), "Start timer '{}' with delay: {}", newTimerName, delay);
+        timer.start(1, JRuleRepeatMode.FIXED_RATE, invokeOnExpiry(timer, function));
+        return timer;
     }
 
-    public synchronized boolean cancelTimer(@Nullable String timerName) {
-        getTimers(timerName).forEach(JRuleTimer::cancel);
-        try {
-            return getTimers(timerName).size() > 0;
-        } finally {
-            removeTimer(timerName);
+    public boolean cancelTimer(@Nullable String timerName) {
+        if (timerName == null) {
+            return false;
         }
-    }
-
-    public synchronized boolean isTimerRunning(String timerName) {
-        boolean noTimerWithName = timers.stream().noneMatch(timer -> timer.name.equals(timerName));
-        if (noTimerWithName) {
+        JRuleTimer timer = timers.remove(timerName);
+        if (timer == null) {
             return false;
         }
-        return timers.stream().filter(timer -> timer.name.equals(timerName))
-                .noneMatch(timer -> timer.futures.stream().anyMatch(CompletableFuture::isDone));
+        timer.cancel();
+        return true;
+    }
+
+    public boolean isTimerRunning(String timerName) {
+        JRuleTimer timer = timers.get(timerName);
+        return timer != null && timer.isRunning();
     }
 
     public JRuleTimer createTimer(@Nullable final String timerName, Duration delay, Consumer<JRuleTimer> function,
             @Nullable JRuleExecutionContext context) {
         final String newTimerName = Optional.ofNullable(timerName).orElse(UUID.randomUUID().toString());
-        Optional<JRuleTimer> any = timers.stream().filter(timer -> Objects.equals(timer.name, newTimerName)).findAny();
-        if (any.isPresent()) {
-            JRuleLog.debug(logger, any.get().getLogName(), "Timer '{}' already running", newTimerName);
-            return any.get();
+        JRuleTimer timer = new JRuleTimer(newTimerName, function, context != null ? context : getCurrentContext(),
+                delay);
+        JRuleTimer existing = timers.putIfAbsent(newTimerName, timer);
+        if (existing != null) {
+            JRuleLog.debug(logger, existing.getLogName(), "Timer '{}' already running", newTimerName);
+            return existing;
         }
 
-        CompletableFuture<?> future = delayedExecution(delay);
-        JRuleTimer timer = new JRuleTimer(newTimerName, function, future,
-                context != null ? context : getCurrentContext(), delay);
-        timers.add(timer);
-
         JRuleLog.debug(logger, timer.getLogName(), "Start timer '{}' with delay: {}", newTimerName, delay);
-        future.thenAccept(s -> executorService.submit(() -> invokeTimerInternal(timer, function)));
+        timer.start(1, JRuleRepeatMode.FIXED_RATE, invokeOnExpiry(timer, function));
         return timer;
     }
 
-    public synchronized JRuleTimer createOrReplaceRepeatingTimer(@Nullable final String timerName, Duration delay,
+    public JRuleTimer createOrReplaceRepeatingTimer(@Nullable final String timerName, Duration delay,
             int numberOfRepeats, Consumer<JRuleTimer> function, @Nullable JRuleExecutionContext context) {
+        return createOrReplaceRepeatingTimer(timerName, delay, numberOfRepeats,
+                JRuleRepeatMode.FIXED_RATE_DRIFT_CORRECTED, function, context);
+    }
+
+    /**
+     * @param numberOfRepeats number of runs, {@link #REPEAT_FOREVER} or any negative value repeats until cancelled
+     * @param repeatMode when the next run is scheduled
+     */
+    public JRuleTimer createOrReplaceRepeatingTimer(@Nullable final String timerName, Duration delay,
+            int numberOfRepeats, JRuleRepeatMode repeatMode, Consumer<JRuleTimer> function,
+            @Nullable JRuleExecutionContext context) {
         final String newTimerName = Optional.ofNullable(timerName).orElse(UUID.randomUUID().toString());
-        cancelTimer(newTimerName);
-        return createRepeatingTimer(newTimerName, delay, numberOfRepeats, function, context);
+        JRuleTimer timer = new JRuleTimer(newTimerName, function, context != null ? context : getCurrentContext(),
+                delay);
+        replaceTimer(timer);
+        startRepeating(timer, numberOfRepeats, repeatMode, function);
+        return timer;
     }
 
-    public synchronized JRuleTimer createRepeatingTimer(@Nullable String timerName, Duration delay, int numberOfRepeats,
+    public JRuleTimer createRepeatingTimer(@Nullable String timerName, Duration delay, int numberOfRepeats,
             Consumer<JRuleTimer> function, @Nullable JRuleExecutionContext context) {
+        return createRepeatingTimer(timerName, delay, numberOfRepeats, JRuleRepeatMode.FIXED_RATE_DRIFT_CORRECTED,
+                function, context);
+    }
+
+    /**
+     * @param numberOfRepeats number of runs, {@link #REPEAT_FOREVER} or any negative value repeats until cancelled
+     * @param repeatMode when the next run is scheduled
+     */
+    public JRuleTimer createRepeatingTimer(@Nullable String timerName, Duration delay, int numberOfRepeats,
+            JRuleRepeatMode repeatMode, Consumer<JRuleTimer> function, @Nullable JRuleExecutionContext context) {
         final String newTimerName = Optional.ofNullable(timerName).orElse(UUID.randomUUID().toString());
-        Optional<JRuleTimer> any = timers.stream().filter(timer -> timer.name.equals(newTimerName)).findAny();
-        if (any.isPresent()) {
-            return any.get();
+        JRuleTimer timer = new JRuleTimer(newTimerName, function, context != null ? context : getCurrentContext(),
+                delay);
+        JRuleTimer existing = timers.putIfAbsent(newTimerName, timer);
+        if (existing != null) {
+            return existing;
         }
-
-        List<CompletableFuture<?>> newTimers = Stream.iterate(0, i -> i + 1).limit(numberOfRepeats)
-                .map(i -> delayedExecution(delay.multipliedBy(i).plus(delay))).collect(Collectors.toList());
-        JRuleTimer timer = new JRuleTimer(newTimerName, function, newTimers,
-                context != null ? context : getCurrentContext(), delay);
-        timers.add(timer);
-        logger.trace("added repeating timers '{}': {}", newTimerName, newTimers.size());
-        getTimers(newTimerName);
-
-        newTimers.forEach(
-                future -> future.thenAccept(s -> executorService.submit(() -> invokeTimerInternal(timer, function))));
+        startRepeating(timer, numberOfRepeats, repeatMode, function);
         return timer;
     }
 
     public boolean isTimeLocked(String lockName) {
-        return getTimers(LOCK_PREFIX + lockName).size() > 0;
+        return timeLocks.isLocked(lockName);
     }
 
     public boolean getTimeLock(String lockName, Duration duration) {
-        if (isTimeLocked(lockName)) {
-            return false;
-        }
-        CompletableFuture<?> future = delayedExecution(duration);
-        future.thenRun(() -> removeTimer(LOCK_PREFIX + lockName)).thenRun(() -> JRuleLog.info(logger,
-                getCurrentContext().getLogName(), String.format("Timer '%s' completed! Releasing lock", lockName)));
-        timers.add(new JRuleTimer(LOCK_PREFIX + lockName, null, future, getCurrentContext(), duration));
-        return true;
+        return timeLocks.tryAcquire(lockName, duration);
+    }
+
+    /**
+     * @return number of scheduled timeouts in the timing wheel
+     */
+    public long getScheduledCount() {
+        return timingWheel.getScheduledCount();
     }
 
     private static JRuleExecutionContext getCurrentContext() {
         return JRule.JRULE_EXECUTION_CONTEXT.get();
     }
 
-    private synchronized List<JRuleTimer> getTimers(String timerName) {
-        List<JRuleTimer> list = timers.stream().filter(timer -> timer.name.equals(timerName))
-                .collect(Collectors.toList());
-        logger.trace("timers for name '{}': {}", timerName, list.size());
-        return list;
+    private void replaceTimer(JRuleTimer timer) {
+        JRuleTimer previous = timers.put(timer.name, timer);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void startRepeating(JRuleTimer timer, int numberOfRepeats, JRuleRepeatMode repeatMode,
+            Consumer<JRuleTimer> function) {
+        logger.trace("added repeating timer '{}': {} ({})", timer.name, numberOfRepeats, repeatMode);
+        timer.start(numberOfRepeats, repeatMode, invokeOnExpiry(timer, function));
+    }
+
+    private Runnable invokeOnExpiry(JRuleTimer timer, Consumer<JRuleTimer> function) {
+        return () -> executorService.submit(() -> invokeTimerInternal(timer, function));
     }
 
     private void invokeTimerInternal(JRuleTimer timer, Consumer<JRuleTimer> runnable) {
+        Map<String, String> previousMdc = null;
+        boolean mdcInstalled = false;
         try {
-            JRule.JRULE_EXECUTION_CONTEXT.set(new JRuleLocalTimerExecutionContext(timer.context, timer.name));
-            JRuleLog.debug(logger, timer.context.getLogName(), "Invoking timer from context: {}", timer.context);
-
-            JRuleLog.debug(logger, timer.context.getLogName(), "setting mdc tags: {}", timer.context.getLoggingTags());
-            MDC.put(JRuleEngine.MDC_KEY_RULE, timer.context.getLogName());
-            MDC.put(JRuleEngine.MDC_KEY_TIMER, timer.name);
-            Arrays.stream(timer.context.getLoggingTags()).forEach(s -> MDC.put(s, s));
+            JRule.JRULE_EXECUTION_CONTEXT.set(timer.executionContext);
+            if (logger.isDebugEnabled()) {
+                JRuleLog.debug(logger, timer.context.getLogName(), "Invoking timer from context: {}, mdc: {}",
+                        timer.context, timer.mdcSnapshot.getEntries());
+            }
+            previousMdc = timer.mdcSnapshot.install();
+            mdcInstalled = true;
             runnable.accept(timer);
         } catch (IllegalArgumentException | SecurityException e) {
             JRuleLog.error(logger, timer.context.getLogName(), "Error {}", ExceptionUtils.getStackTrace(e));
         } finally {
-            Arrays.stream(timer.context.getLoggingTags()).forEach(MDC::remove);
-            MDC.remove(JRuleEngine.MDC_KEY_RULE);
-            MDC.remove(JRuleEngine.MDC_KEY_TIMER);
+            if (mdcInstalled) {
+                JRuleMdcSnapshot.restore(previousMdc);
+            }
             logger.debug("Removing thread local after rule completion");
+            timer.runCompleted();
             if (timer.isDone()) {
-                removeTimer(timer.name);
+                removeTimer(timer);
             }
             JRule.JRULE_EXECUTION_CONTEXT.remove();
         }
     }
 
-    private synchronized void removeTimer(String timerName) {
-        logger.trace("remove timer: '{}'", timerName);
-        timers.removeIf(timer -> timer.name.equals(timerName));
-    }
-
-    private CompletableFuture<?> delayedExecution(Duration delay) {
-        Executor delayedExecutor = CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS,
-                executorService);
-        return CompletableFuture.supplyAsync(() -> null, delayedExecutor);
+    private void removeTimer(JRuleTimer timer) {
+        logger.trace("remove timer: '{}'", timer.name);
+        // a replacing timer with the same name stays registered
+        timers.remove(timer.name, timer);
     }
 
     public void cancelAll() {
-        this.timers.forEach(jRuleTimer -> cancelTimer(jRuleTimer.name));
+        timers.keySet().forEach(this::cancelTimer);
+        timeLocks.clear();
     }
 
     public final class JRuleTimer {
         private final Duration delay;
         private final String name;
-        private final List<CompletableFuture<?>> futures;
+        private volatile JRuleTimingWheel.Timeout timeout;
+        private volatile boolean cancelled;
+        private volatile boolean finished;
+        // runs of one timer never expire concurrently, so plain volatile updates are enough
+        private volatile int fired;
+        private int repeats;
+        private JRuleRepeatMode repeatMode = JRuleRepeatMode.FIXED_RATE;
+        private Runnable task = () -> {
+        };
+        private long firstDeadline;
 
         private final JRuleExecutionContext context;
+        private final JRuleLocalTimerExecutionContext executionContext;
+        private final JRuleMdcSnapshot mdcSnapshot;
         private Consumer<JRuleTimer> function;
 
-        public JRuleTimer(String name, Consumer<JRuleTimer> function, CompletableFuture<?> future,
-                JRuleExecutionContext context, Duration delay) {
+        private JRuleTimer(String name, Consumer<JRuleTimer> function, JRuleExecutionContext context,
+                Duration delay) {
             this.name = name;
             this.function = function;
-            this.futures = List.of(future);
             this.context = context;
             this.delay = delay;
+            this.executionContext = new JRuleLocalTimerExecutionContext(context, name);
+            this.mdcSnapshot = context.getMdcSnapshot().with(JRuleEngine.MDC_KEY_TIMER, name);
         }
 
-        public JRuleTimer(String name, Consumer<JRuleTimer> function, List<CompletableFuture<?>> futures,
-                JRuleExecutionContext context, Duration delay) {
-            this.name = name;
-            this.function = function;
-            this.futures = futures;
-            this.context = context;
-            this.delay = delay;
+        /**
+         * Arms the first run. Only the next run is ever scheduled, further runs are re-armed when it fires or, with
+         * {@link JRuleRepeatMode#FIXED_DELAY}, once it has completed.
+         */
+        private void start(int repeats, JRuleRepeatMode repeatMode, Runnable task) {
+            this.repeats = repeats;
+            this.repeatMode = repeatMode;
+            this.task = task;
+            this.firstDeadline = System.nanoTime() + delay.toNanos();
+            if (repeats == 0) {
+                finished = true;
+                removeTimer(this);
+                return;
+            }
+            arm(delay);
+        }
+
+        private void arm(Duration nextDelay) {
+            JRuleTimingWheel.Timeout next = timingWheel.newTimeout(nextDelay, this::expired);
+            timeout = next;
+            // cancel may have raced with scheduling the timeout
+            if (cancelled) {
+                next.cancel();
+            }
+        }
+
+        private void expired() {
+            int count = fired + 1;
+            fired = count;
+            if (repeats >= 0 && count >= repeats) {
+                finished = true;
+            } else if (repeatMode == JRuleRepeatMode.FIXED_RATE) {
+                arm(delay);
+            } else if (repeatMode == JRuleRepeatMode.FIXED_RATE_DRIFT_CORRECTED) {
+                long nextDeadline = firstDeadline + delay.toNanos() * count;
+                arm(Duration.ofNanos(Math.max(0, nextDeadline - System.nanoTime())));
+            }
+            task.run();
+        }
+
+        private void runCompleted() {
+            if (repeatMode == JRuleRepeatMode.FIXED_DELAY && !finished && !cancelled) {
+                arm(delay);
+            }
         }
 
         public void cancel() {
-            logger.debug("before: {}", futures);
-            this.futures.forEach(future -> future.cancel(false));
-            logger.debug("after: {}", futures);
+            cancelled = true;
+            JRuleTimingWheel.Timeout current = timeout;
+            logger.debug("cancel timer '{}': {}", name, current);
+            if (current != null) {
+                current.cancel();
+            }
+            removeTimer(this);
+        }
+
+        /**
+         * @return number of runs fired so far
+         */
+        public int getFiredCount() {
+            return fired;
         }
 
         public String getLogName() {
@@ -242,7 +332,7 @@ public class JRuleTimerHandler {
         }
 
         public boolean isRunning() {
-            return futures.stream().anyMatch(future -> !future.isDone());
+            return !cancelled && !finished;
         }
 
         public JRuleTimerHandler.JRuleTimer createTimerAfter(@Nullable String timerName, Duration delay,
@@ -282,7 +372,7 @@ public class JRuleTimerHandler {
         }
 
         public boolean isDone() {
-            return futures.stream().allMatch(CompletableFuture::isDone);
+            return !isRunning();
         }
     }
 }
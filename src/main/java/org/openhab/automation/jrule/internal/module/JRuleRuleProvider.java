@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -44,13 +45,21 @@ public class JRuleRuleProvider implements RuleProvider {
 
     public static final String MODULE_PREFIX = "jrule.";
 
+    private static final long THROTTLE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final Collection<ProviderChangeListener<Rule>> listeners = new ArrayList<>();
 
     private final Map<String, JRuleModuleEntry> rules = new ConcurrentHashMap<>();
 
+    private final Map<String, StatusThrottle> statusThrottles = new ConcurrentHashMap<>();
+
     @Nullable
     private EventPublisher eventPublisher;
 
+    private volatile JRuleRuleStatusEvents statusEvents = JRuleRuleStatusEvents.ALL;
+
+    private volatile int maxStatusEventsPerSecond = 1;
+
     @Override
     public Collection<Rule> getAll() {
         return rules.values().stream().map(e -> (Rule) e).collect(Collectors.toList());
@@ -71,9 +80,18 @@ public class JRuleRuleProvider implements RuleProvider {
         this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * @param maxPerSecond maximum number of RUNNING and IDLE pairs per second and rule when throttled
+     */
+    public void setStatusEvents(JRuleRuleStatusEvents statusEvents, int maxPerSecond) {
+        this.statusEvents = statusEvents;
+        this.maxStatusEventsPerSecond = Math.max(1, maxPerSecond);
+    }
+
     @Deactivate
     protected void deactivate() {
         rules.clear();
+        statusThrottles.clear();
     }
 
     public void reset() {
@@ -82,11 +100,27 @@ public class JRuleRuleProvider implements RuleProvider {
             rule.dispose();
         }
         rules.clear();
+        statusThrottles.clear();
     }
 
     public void add(JRuleModuleEntry entry) {
-        rules.put(entry.getUID(), entry);
-        listeners.stream().forEach(e -> e.added(this, entry));
+        JRuleModuleEntry previous = rules.put(entry.getUID(), entry);
+        if (previous != null) {
+            // a reloaded rule class brings the same uid again
+            listeners.stream().forEach(e -> e.updated(this, previous, entry));
+            previous.dispose();
+        } else {
+            listeners.stream().forEach(e -> e.added(this, entry));
+        }
+    }
+
+    public void remove(String ruleUid) {
+        JRuleModuleEntry rule = rules.remove(ruleUid);
+        statusThrottles.remove(ruleUid);
+        if (rule != null) {
+            listeners.stream().forEach(e -> e.removed(this, rule));
+            rule.dispose();
+        }
     }
 
     @Nullable
@@ -95,14 +129,75 @@ public class JRuleRuleProvider implements RuleProvider {
     }
 
     public void runRule(JRuleExecutionContext context) {
-        RuleStatusInfoEvent ruleStatusInfoEvent = JRuleEventFactory.createRuleStatusInfoEvent(
-                new RuleStatusInfo(RuleStatus.RUNNING, RuleStatusDetail.NONE, null), context.getUid(), "jRule");
-        eventPublisher.post(ruleStatusInfoEvent);
+        JRuleRuleStatusEvents mode = statusEvents;
+        if (mode == JRuleRuleStatusEvents.NONE || (mode == JRuleRuleStatusEvents.THROTTLED && !statusThrottles
+                .computeIfAbsent(context.getUid(), k -> new StatusThrottle()).start(maxStatusEventsPerSecond))) {
+            return;
+        }
+        postStatus(RuleStatus.RUNNING, context);
     }
 
     public void stopRule(JRuleExecutionContext context) {
+        JRuleRuleStatusEvents mode = statusEvents;
+        if (mode == JRuleRuleStatusEvents.NONE) {
+            return;
+        }
+        if (mode == JRuleRuleStatusEvents.THROTTLED) {
+            StatusThrottle throttle = statusThrottles.get(context.getUid());
+            if (throttle == null || !throttle.stop()) {
+                return;
+            }
+        }
+        postStatus(RuleStatus.IDLE, context);
+    }
+
+    private void postStatus(RuleStatus status, JRuleExecutionContext context) {
         RuleStatusInfoEvent ruleStatusInfoEvent = JRuleEventFactory.createRuleStatusInfoEvent(
-                new RuleStatusInfo(RuleStatus.IDLE, RuleStatusDetail.NONE, null), context.getUid(), "jRule");
+                new RuleStatusInfo(status, RuleStatusDetail.NONE, null), context.getUid(), "jRule");
         eventPublisher.post(ruleStatusInfoEvent);
     }
+
+    /**
+     * Counts the running invocations of one rule. RUNNING is posted for the first of overlapping invocations if the
+     * rate allows it, IDLE once the last of them is done and only if RUNNING was posted.
+     */
+    private static class StatusThrottle {
+        private int active;
+        private boolean runningPosted;
+        private long windowStart = System.nanoTime() - THROTTLE_WINDOW_NANOS;
+        private int postedInWindow;
+
+        /**
+         * @return true if RUNNING is to be posted
+         */
+        synchronized boolean start(int maxPerSecond) {
+            active++;
+            if (runningPosted) {
+                return false;
+            }
+            long now = System.nanoTime();
+            if (now - windowStart >= THROTTLE_WINDOW_NANOS) {
+                windowStart = now;
+                postedInWindow = 0;
+            }
+            if (postedInWindow >= maxPerSecond) {
+                return false;
+            }
+            postedInWindow++;
+            runningPosted = true;
+            return true;
+        }
+
+        /**
+         * @return true if IDLE is to be posted
+         */
+        synchronized boolean stop() {
+            active = Math.max(0, active - 1);
+            if (active > 0 || !runningPosted) {
+                return false;
+            }
+            runningPosted = false;
+            return true;
+        }
+    }
 }
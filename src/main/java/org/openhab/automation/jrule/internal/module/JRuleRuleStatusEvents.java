@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.module;
+
+/**
+ * The {@link JRuleRuleStatusEvents} decides which RUNNING and IDLE rule status events are posted to the event bus when
+ * a rule is invoked.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public enum JRuleRuleStatusEvents {
+    /**
+     * Post RUNNING and IDLE for every invocation
+     */
+    ALL,
+    /**
+     * Post at most the configured number of RUNNING and IDLE pairs per second and rule. Overlapping invocations share
+     * one pair, IDLE is always posted once the last invocation is done
+     */
+    THROTTLED,
+    /**
+     * Never post status events for invocations
+     */
+    NONE;
+
+    public static JRuleRuleStatusEvents fromConfig(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -13,7 +13,6 @@
 package org.openhab.automation.jrule.items;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,8 +29,6 @@ import org.openhab.core.items.MetadataRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import freemarker.template.Template;
-
 /**
  * The {@link JRuleItemClassGenerator} Class Generator
  *
@@ -62,13 +59,13 @@ public class JRuleItemClassGenerator extends JRuleAbstractClassGenerator {
 
             File targetSourceFile = new File(jRuleConfig.getItemsDirectory() + File.separator + "JRuleItems.java");
 
-            try (FileWriter fileWriter = new FileWriter(targetSourceFile)) {
-                Template template = freemarkerConfiguration.getTemplate("items/Items" + TEMPLATE_SUFFIX);
-                template.process(processingModel, fileWriter);
+            if (writeSource(targetSourceFile, "items/Items" + TEMPLATE_SUFFIX, processingModel)) {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
+                        targetSourceFile.getAbsolutePath());
+            } else {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Generated class unchanged: {}",
+                        targetSourceFile.getAbsolutePath());
             }
-
-            JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
-                    targetSourceFile.getAbsolutePath());
             return true;
         } catch (Exception e) {
             JRuleLog.error(logger, LOG_NAME_CLASS_GENERATOR,
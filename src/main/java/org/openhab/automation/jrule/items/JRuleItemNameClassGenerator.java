@@ -13,7 +13,6 @@
 package org.openhab.automation.jrule.items;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -29,8 +28,6 @@ import org.openhab.core.items.MetadataRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import freemarker.template.Template;
-
 /**
  * The {@link JRuleItemNameClassGenerator} Class Generator
  *
@@ -59,13 +56,13 @@ public class JRuleItemNameClassGenerator extends JRuleAbstractClassGenerator {
         File targetSourceFile = new File(jRuleConfig.getItemsDirectory() + File.separator + "JRuleItemNames.java");
 
         try {
-            try (FileWriter fileWriter = new FileWriter(targetSourceFile)) {
-                Template template = freemarkerConfiguration.getTemplate("items/ItemNames" + TEMPLATE_SUFFIX);
-                template.process(processingModel, fileWriter);
+            if (writeSource(targetSourceFile, "items/ItemNames" + TEMPLATE_SUFFIX, processingModel)) {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
+                        targetSourceFile.getAbsolutePath());
+            } else {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Generated class unchanged: {}",
+                        targetSourceFile.getAbsolutePath());
             }
-
-            JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
-                    targetSourceFile.getAbsolutePath());
             return true;
         } catch (Exception e) {
             JRuleLog.error(logger, LOG_NAME_CLASS_GENERATOR,
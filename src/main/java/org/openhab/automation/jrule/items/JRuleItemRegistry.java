@@ -12,11 +12,15 @@
  */
 package org.openhab.automation.jrule.items;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.automation.jrule.exception.JRuleItemNotFoundException;
 import org.openhab.automation.jrule.internal.handler.JRuleEventHandler;
@@ -25,6 +29,8 @@ import org.openhab.automation.jrule.items.metadata.JRuleMetadataRegistry;
 import org.openhab.automation.jrule.rules.value.JRuleValue;
 import org.openhab.core.items.*;
 import org.openhab.core.library.CoreItemFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The {@link JRuleItemRegistry} Items
@@ -35,8 +41,18 @@ import org.openhab.core.library.CoreItemFactory;
 public class JRuleItemRegistry {
     private static final Map<String, Class<? extends JRuleItem>> typeMap = new HashMap<>();
     private static final Map<String, Class<? extends JRuleItem>> groupTypeMap = new HashMap<>();
-    private static final Map<String, JRuleItem> itemRegistry = new HashMap<>();
-    private static MetadataRegistry metadataRegistry;
+    private static final Map<Class<? extends JRuleItem>, ItemFactory> factories = new HashMap<>();
+    // any other item class is constructed through its method handle, looked up once per class
+    private static final ClassValue<ItemFactory> methodHandleFactories = new ClassValue<>() {
+        @Override
+        protected ItemFactory computeValue(Class<?> type) {
+            return methodHandleFactory(type);
+        }
+    };
+    private static final Map<String, JRuleItem> itemRegistry = new ConcurrentHashMap<>();
+    private static volatile MetadataRegistry metadataRegistry;
+    private static volatile JRuleMetadataRegistry jRuleMetadataRegistry;
+    private static final Logger logger = LoggerFactory.getLogger(JRuleItemRegistry.class);
 
     public static void clear() {
         itemRegistry.clear();
@@ -46,62 +62,56 @@ public class JRuleItemRegistry {
 
     static {
         typeMap.put(GroupItem.TYPE, null);
-        typeMap.put(CoreItemFactory.CALL, JRuleInternalCallItem.class);
-        typeMap.put(CoreItemFactory.CONTACT, JRuleInternalContactItem.class);
-        typeMap.put(CoreItemFactory.COLOR, JRuleInternalColorItem.class);
-        typeMap.put(CoreItemFactory.DATETIME, JRuleInternalDateTimeItem.class);
-        typeMap.put(CoreItemFactory.DIMMER, JRuleInternalDimmerItem.class);
-        typeMap.put(CoreItemFactory.IMAGE, JRuleInternalImageItem.class);
-        typeMap.put(CoreItemFactory.LOCATION, JRuleInternalLocationItem.class);
-        typeMap.put(CoreItemFactory.NUMBER, JRuleInternalNumberItem.class);
-        typeMap.put(ITEM_TYPE_QUANTITY, JRuleInternalQuantityItem.class);
-        typeMap.put(CoreItemFactory.PLAYER, JRuleInternalPlayerItem.class);
-        typeMap.put(CoreItemFactory.ROLLERSHUTTER, JRuleInternalRollershutterItem.class);
-        typeMap.put(CoreItemFactory.STRING, JRuleInternalStringItem.class);
-        typeMap.put(CoreItemFactory.SWITCH, JRuleInternalSwitchItem.class);
-
-        groupTypeMap.put(CoreItemFactory.CALL, JRuleInternalCallGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.CONTACT, JRuleInternalContactGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.COLOR, JRuleInternalColorGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.DATETIME, JRuleInternalDateTimeGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.DIMMER, JRuleInternalDimmerGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.IMAGE, JRuleInternalImageGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.LOCATION, JRuleInternalLocationGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.NUMBER, JRuleInternalNumberGroupItem.class);
-        groupTypeMap.put(ITEM_TYPE_QUANTITY, JRuleInternalQuantityGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.PLAYER, JRuleInternalPlayerGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.ROLLERSHUTTER, JRuleInternalRollershutterGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.STRING, JRuleInternalStringGroupItem.class);
-        groupTypeMap.put(CoreItemFactory.SWITCH, JRuleInternalSwitchGroupItem.class);
-        groupTypeMap.put(JRuleItemClassGenerator.ITEM_GROUP_TYPE_UNSPECIFIED, JRuleInternalUnspecifiedGroupItem.class);
+        register(typeMap, CoreItemFactory.CALL, JRuleInternalCallItem.class, JRuleInternalCallItem::new);
+        register(typeMap, CoreItemFactory.CONTACT, JRuleInternalContactItem.class, JRuleInternalContactItem::new);
+        register(typeMap, CoreItemFactory.COLOR, JRuleInternalColorItem.class, JRuleInternalColorItem::new);
+        register(typeMap, CoreItemFactory.DATETIME, JRuleInternalDateTimeItem.class, JRuleInternalDateTimeItem::new);
+        register(typeMap, CoreItemFactory.DIMMER, JRuleInternalDimmerItem.class, JRuleInternalDimmerItem::new);
+        register(typeMap, CoreItemFactory.IMAGE, JRuleInternalImageItem.class, JRuleInternalImageItem::new);
+        register(typeMap, CoreItemFactory.LOCATION, JRuleInternalLocationItem.class, JRuleInternalLocationItem::new);
+        register(typeMap, CoreItemFactory.NUMBER, JRuleInternalNumberItem.class, JRuleInternalNumberItem::new);
+        register(typeMap, ITEM_TYPE_QUANTITY, JRuleInternalQuantityItem.class, JRuleInternalQuantityItem::new);
+        register(typeMap, CoreItemFactory.PLAYER, JRuleInternalPlayerItem.class, JRuleInternalPlayerItem::new);
+        register(typeMap, CoreItemFactory.ROLLERSHUTTER, JRuleInternalRollershutterItem.class,
+                JRuleInternalRollershutterItem::new);
+        register(typeMap, CoreItemFactory.STRING, JRuleInternalStringItem.class, JRuleInternalStringItem::new);
+        register(typeMap, CoreItemFactory.SWITCH, JRuleInternalSwitchItem.class, JRuleInternalSwitchItem::new);
+
+        register(groupTypeMap, CoreItemFactory.CALL, JRuleInternalCallGroupItem.class,
+                JRuleInternalCallGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.CONTACT, JRuleInternalContactGroupItem.class,
+                JRuleInternalContactGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.COLOR, JRuleInternalColorGroupItem.class,
+                JRuleInternalColorGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.DATETIME, JRuleInternalDateTimeGroupItem.class,
+                JRuleInternalDateTimeGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.DIMMER, JRuleInternalDimmerGroupItem.class,
+                JRuleInternalDimmerGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.IMAGE, JRuleInternalImageGroupItem.class,
+                JRuleInternalImageGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.LOCATION, JRuleInternalLocationGroupItem.class,
+                JRuleInternalLocationGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.NUMBER, JRuleInternalNumberGroupItem.class,
+                JRuleInternalNumberGroupItem::new);
+        register(groupTypeMap, ITEM_TYPE_QUANTITY, JRuleInternalQuantityGroupItem.class,
+                JRuleInternalQuantityGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.PLAYER, JRuleInternalPlayerGroupItem.class,
+                JRuleInternalPlayerGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.ROLLERSHUTTER, JRuleInternalRollershutterGroupItem.class,
+                JRuleInternalRollershutterGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.STRING, JRuleInternalStringGroupItem.class,
+                JRuleInternalStringGroupItem::new);
+        register(groupTypeMap, CoreItemFactory.SWITCH, JRuleInternalSwitchGroupItem.class,
+                JRuleInternalSwitchGroupItem::new);
+        register(groupTypeMap, JRuleItemClassGenerator.ITEM_GROUP_TYPE_UNSPECIFIED,
+                JRuleInternalUnspecifiedGroupItem.class, JRuleInternalUnspecifiedGroupItem::new);
     }
 
     public static <T extends JRuleValue> JRuleItem get(String itemName) throws JRuleItemNotFoundException {
         JRuleItem jRuleItem = itemRegistry.get(itemName);
         if (jRuleItem == null) {
             Item item = verifyThatItemExist(itemName);
-
-            Class<? extends JRuleItem> jRuleItemClass = typeMap
-                    .get(item.getType().contains(":") ? "Quantity" : item.getType());
-            if (item instanceof GroupItem) {
-                String baseItemType = Optional.ofNullable(((GroupItem) item).getBaseItem()).map(Item::getType)
-                        .or(() -> Optional.of(JRuleItemClassGenerator.ITEM_GROUP_TYPE_UNSPECIFIED))
-                        .map(s -> s.contains(":") ? "Quantity" : s)
-                        .orElse(JRuleItemClassGenerator.ITEM_GROUP_TYPE_UNSPECIFIED);
-
-                jRuleItemClass = groupTypeMap.get(baseItemType);
-            }
-
-            try {
-                Constructor<? extends JRuleItem> constructor = jRuleItemClass.getDeclaredConstructor(String.class,
-                        String.class, String.class, String.class, JRuleMetadataRegistry.class, List.class);
-                constructor.setAccessible(true);
-                jRuleItem = constructor.newInstance(itemName, item.getLabel(), item.getType(), item.getUID(),
-                        new JRuleMetadataRegistry(metadataRegistry), item.getTags().stream().sorted().toList());
-                itemRegistry.put(itemName, jRuleItem);
-            } catch (Exception ex) {
-                throw new RuntimeException(ex);
-            }
+            jRuleItem = register(item, getItemClass(item));
         }
         return jRuleItem;
     }
@@ -111,19 +121,63 @@ public class JRuleItemRegistry {
         JRuleItem jruleItem = itemRegistry.get(itemName);
         if (jruleItem == null) {
             Item item = verifyThatItemExist(itemName);
+            jruleItem = register(item, jRuleItemClass);
+        }
+        return (T) jruleItem;
+    }
 
+    /**
+     * Creates the items which are not yet known, so the first event for an item does not have to.
+     *
+     * @param items all items of the openHAB item registry
+     * @return the number of created items
+     */
+    public static int prewarm(Collection<? extends Item> items) {
+        int created = 0;
+        for (Item item : items) {
+            if (itemRegistry.containsKey(item.getName())) {
+                continue;
+            }
+            Class<? extends JRuleItem> jRuleItemClass = getItemClass(item);
+            if (jRuleItemClass == null) {
+                logger.debug("No item class for type '{}' of item '{}'", item.getType(), item.getName());
+                continue;
+            }
             try {
-                Constructor<? extends JRuleItem> constructor = jRuleItemClass.getDeclaredConstructor(String.class,
-                        String.class, String.class, String.class, JRuleMetadataRegistry.class, List.class);
-                jruleItem = constructor.newInstance(item.getName(), item.getLabel(), item.getType(), item.getUID(),
-                        new JRuleMetadataRegistry(metadataRegistry), item.getTags().stream().sorted().toList());
-                itemRegistry.put(itemName, jruleItem);
-            } catch (Exception ex) {
-                throw new RuntimeException(String.format("cannot create item '%s' for type '%s'", itemName,
-                        jRuleItemClass.getSimpleName()), ex);
+                register(item, jRuleItemClass);
+                created++;
+            } catch (RuntimeException e) {
+                logger.debug("Cannot create item '{}'", item.getName(), e);
             }
         }
-        return (T) jruleItem;
+        return created;
+    }
+
+    private static Class<? extends JRuleItem> getItemClass(Item item) {
+        if (item instanceof GroupItem) {
+            String baseItemType = Optional.ofNullable(((GroupItem) item).getBaseItem()).map(Item::getType)
+                    .or(() -> Optional.of(JRuleItemClassGenerator.ITEM_GROUP_TYPE_UNSPECIFIED))
+                    .map(s -> s.contains(":") ? "Quantity" : s)
+                    .orElse(JRuleItemClassGenerator.ITEM_GROUP_TYPE_UNSPECIFIED);
+            return groupTypeMap.get(baseItemType);
+        }
+        return typeMap.get(item.getType().contains(":") ? "Quantity" : item.getType());
+    }
+
+    private static JRuleItem register(Item item, Class<? extends JRuleItem> jRuleItemClass) {
+        if (jRuleItemClass == null) {
+            throw new IllegalStateException(
+                    String.format("no item class for type '%s' of item '%s'", item.getType(), item.getName()));
+        }
+        ItemFactory factory = factories.get(jRuleItemClass);
+        if (factory == null) {
+            factory = methodHandleFactories.get(jRuleItemClass);
+        }
+        JRuleItem jRuleItem = factory.create(item.getName(), item.getLabel(), item.getType(), item.getUID(),
+                getJRuleMetadataRegistry(), item.getTags().stream().sorted().toList());
+        // another thread may have been faster, everybody has to get the same instance
+        JRuleItem existing = itemRegistry.putIfAbsent(item.getName(), jRuleItem);
+        return existing != null ? existing : jRuleItem;
     }
 
     private static Item verifyThatItemExist(String itemName) throws JRuleItemNotFoundException {
@@ -141,5 +195,48 @@ public class JRuleItemRegistry {
 
     public static void setMetadataRegistry(MetadataRegistry metadataRegistry) {
         JRuleItemRegistry.metadataRegistry = metadataRegistry;
+        JRuleItemRegistry.jRuleMetadataRegistry = new JRuleMetadataRegistry(metadataRegistry);
+    }
+
+    private static JRuleMetadataRegistry getJRuleMetadataRegistry() {
+        JRuleMetadataRegistry registry = jRuleMetadataRegistry;
+        // the wrapper holds no state, all items share it
+        return registry != null ? registry : new JRuleMetadataRegistry(metadataRegistry);
+    }
+
+    private static <T extends JRuleItem> void register(Map<String, Class<? extends JRuleItem>> types, String type,
+            Class<T> jRuleItemClass, ItemFactory factory) {
+        types.put(type, jRuleItemClass);
+        factories.put(jRuleItemClass, factory);
+    }
+
+    private static ItemFactory methodHandleFactory(Class<?> jRuleItemClass) {
+        final MethodHandle constructor;
+        try {
+            constructor = MethodHandles.publicLookup().findConstructor(jRuleItemClass,
+                    MethodType.methodType(void.class, String.class, String.class, String.class, String.class,
+                            JRuleMetadataRegistry.class, List.class))
+                    .asType(MethodType.methodType(JRuleItem.class, String.class, String.class, String.class,
+                            String.class, JRuleMetadataRegistry.class, List.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(
+                    String.format("cannot find item constructor for type '%s'", jRuleItemClass.getSimpleName()), e);
+        }
+        return (name, label, type, id, metadataRegistry, tags) -> {
+            try {
+                return (JRuleItem) constructor.invokeExact(name, label, type, id, metadataRegistry, tags);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(String.format("cannot create item '%s' for type '%s'", name,
+                        jRuleItemClass.getSimpleName()), t);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface ItemFactory {
+        JRuleItem create(String name, String label, String type, String id, JRuleMetadataRegistry metadataRegistry,
+                List<String> tags);
     }
 }
@@ -51,6 +51,11 @@ public class JRule {
 
     public static final ThreadLocal<JRuleExecutionContext> JRULE_EXECUTION_CONTEXT = new ThreadLocal<>();
 
+    /**
+     * Number of repetitions for a repeating timer running until it is canceled.
+     */
+    public static final int REPEAT_FOREVER = JRuleTimerHandler.REPEAT_FOREVER;
+
     public JRule() {
         this(true);
     }
@@ -310,6 +315,40 @@ public class JRule {
         return JRuleTimerHandler.get().createRepeatingTimer(null, delay, numberOfRepeats, function, null);
     }
 
+    /**
+     * Creates or replace a repeating timer. Only the next run is scheduled at any time, so the number of repetitions
+     * is not limited.
+     *
+     * @param timerName Name of the timer or null.
+     * @param delay Initial delay and delay between the timers.
+     * @param numberOfRepeats Number of repetitions, {@link #REPEAT_FOREVER} to repeat until canceled.
+     * @param repeatMode When the next run is scheduled.
+     * @param function Code to execute.
+     * @return A handle for the timer.
+     */
+    protected JRuleTimerHandler.JRuleTimer createOrReplaceRepeatingTimer(@Nullable String timerName, Duration delay,
+            int numberOfRepeats, JRuleRepeatMode repeatMode, Consumer<JRuleTimerHandler.JRuleTimer> function) {
+        return JRuleTimerHandler.get().createOrReplaceRepeatingTimer(timerName, delay, numberOfRepeats, repeatMode,
+                function, null);
+    }
+
+    /**
+     * Creates a repeating timer. Only the next run is scheduled at any time, so the number of repetitions is not
+     * limited.
+     *
+     * @param timerName Name of the timer or null.
+     * @param delay Initial delay and delay between the timers.
+     * @param numberOfRepeats Number of repetitions, {@link #REPEAT_FOREVER} to repeat until canceled.
+     * @param repeatMode When the next run is scheduled.
+     * @param function Code to execute.
+     * @return A handle for the timer.
+     */
+    protected JRuleTimerHandler.JRuleTimer createRepeatingTimer(@Nullable String timerName, Duration delay,
+            int numberOfRepeats, JRuleRepeatMode repeatMode, Consumer<JRuleTimerHandler.JRuleTimer> function) {
+        return JRuleTimerHandler.get().createRepeatingTimer(timerName, delay, numberOfRepeats, repeatMode, function,
+                null);
+    }
+
     /**
      * Cancels the timer with the given name.
      *
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.rules;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The {@link JRuleCoalesce} type.
+ * Keeps only the newest event per item while the rule is waiting or running, and invokes the rule with that newest
+ * event. In contrast to {@link JRuleDebounce} the latest value is never lost.
+ * Default value unit is Milliseconds.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD })
+public @interface JRuleCoalesce {
+    /**
+     * Time to collect events before the rule is invoked. Default is milliseconds. Can be changed via unit().
+     * 
+     * @return value as long
+     */
+    long value() default 0;
+
+    /**
+     * Time unit. Default is milliseconds.
+     * 
+     * @return time unit.
+     */
+    ChronoUnit unit() default ChronoUnit.MILLIS;
+}
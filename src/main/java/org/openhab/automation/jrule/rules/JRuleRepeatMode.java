@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.rules;
+
+/**
+ * The {@link JRuleRepeatMode} defines when a repeating timer fires next.
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public enum JRuleRepeatMode {
+    /**
+     * Next run is scheduled one delay after the previous run has finished, runs never overlap
+     */
+    FIXED_DELAY,
+    /**
+     * Next run is scheduled one delay after the previous run was due to fire, lateness of the previous run adds up
+     */
+    FIXED_RATE,
+    /**
+     * Runs are aligned to start + n * delay, lateness is not carried over and missed runs are caught up immediately
+     */
+    FIXED_RATE_DRIFT_CORRECTED
+}
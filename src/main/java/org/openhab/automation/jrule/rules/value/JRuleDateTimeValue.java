@@ -28,6 +28,10 @@ import org.openhab.core.types.State;
 public class JRuleDateTimeValue extends JRuleValueBase implements JRuleValue {
     private final DateTimeType ohType;
 
+    public JRuleDateTimeValue(DateTimeType ohType) {
+        this.ohType = ohType;
+    }
+
     public JRuleDateTimeValue(ZonedDateTime value) {
         this.ohType = new DateTimeType(value);
     }
@@ -26,6 +26,10 @@ import org.openhab.core.types.State;
 public class JRuleDecimalValue extends JRuleValueBase implements JRuleValue {
     private final DecimalType ohType;
 
+    public JRuleDecimalValue(DecimalType ohType) {
+        this.ohType = ohType;
+    }
+
     public JRuleDecimalValue(BigDecimal value) {
         this.ohType = new DecimalType(value);
     }
@@ -28,6 +28,10 @@ import org.openhab.core.types.State;
 public class JRuleHsbValue extends JRuleValueBase implements JRuleValue {
     private final HSBType ohType;
 
+    public JRuleHsbValue(HSBType ohType) {
+        this.ohType = ohType;
+    }
+
     public JRuleHsbValue(String value) {
         this.ohType = new HSBType(value);
     }
@@ -26,6 +26,10 @@ import org.openhab.core.types.State;
 public class JRulePercentValue extends JRuleValueBase implements JRuleValue {
     private final PercentType ohType;
 
+    public JRulePercentValue(PercentType ohType) {
+        this.ohType = ohType;
+    }
+
     public JRulePercentValue(int value) {
         this.ohType = new PercentType(value);
     }
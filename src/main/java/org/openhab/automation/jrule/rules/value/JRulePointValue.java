@@ -27,6 +27,10 @@ import org.openhab.core.types.State;
 public class JRulePointValue extends JRuleValueBase implements JRuleValue {
     private final PointType ohType;
 
+    public JRulePointValue(PointType ohType) {
+        this.ohType = ohType;
+    }
+
     public JRulePointValue(BigDecimal latitude, BigDecimal longitude, BigDecimal altitude) {
         this.ohType = new PointType(new DecimalType(latitude), new DecimalType(longitude), new DecimalType(altitude));
     }
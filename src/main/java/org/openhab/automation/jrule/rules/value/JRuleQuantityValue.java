@@ -27,6 +27,10 @@ import tech.units.indriya.format.SimpleUnitFormat;
 public class JRuleQuantityValue extends JRuleValueBase implements JRuleValue {
     private final QuantityType<?> ohType;
 
+    public JRuleQuantityValue(QuantityType<?> ohType) {
+        this.ohType = ohType;
+    }
+
     public JRuleQuantityValue(String value) {
         this.ohType = new QuantityType<>(value);
     }
@@ -25,6 +25,10 @@ import org.openhab.core.types.State;
 public class JRuleRawValue extends JRuleValueBase implements JRuleValue {
     private final RawType ohType;
 
+    public JRuleRawValue(RawType ohType) {
+        this.ohType = ohType;
+    }
+
     public JRuleRawValue(String mimeType, byte[] data) {
         this.ohType = new RawType(data, mimeType);
     }
@@ -26,6 +26,10 @@ import org.openhab.core.types.State;
 public class JRuleStringListValue extends JRuleValueBase implements JRuleValue {
     private final StringListType ohType;
 
+    public JRuleStringListValue(StringListType ohType) {
+        this.ohType = ohType;
+    }
+
     public JRuleStringListValue(String value) {
         this.ohType = new StringListType(value);
     }
@@ -25,6 +25,10 @@ import org.openhab.core.types.State;
 public class JRuleStringValue extends JRuleValueBase implements JRuleValue {
     private final StringType ohType;
 
+    public JRuleStringValue(StringType ohType) {
+        this.ohType = ohType;
+    }
+
     public JRuleStringValue(String value) {
         this.ohType = new StringType(value);
     }
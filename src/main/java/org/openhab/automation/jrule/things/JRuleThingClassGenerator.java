@@ -13,7 +13,6 @@
 package org.openhab.automation.jrule.things;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Comparator;
@@ -33,7 +32,6 @@ import org.openhab.core.thing.type.ChannelKind;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import freemarker.template.Template;
 import freemarker.template.TemplateException;
 
 /**
@@ -65,14 +63,14 @@ public class JRuleThingClassGenerator extends JRuleAbstractClassGenerator {
                     .append(File.separator).append(jRuleConfig.getGeneratedItemPrefix())
                     .append(getThingFriendlyName(thing)).append(JRuleConstants.JAVA_FILE_TYPE).toString());
 
-            try (FileWriter fileWriter = new FileWriter(targetSourceFile)) {
-                Template template = freemarkerConfiguration
-                        .getTemplate("things/" + thingModel.get("templateName") + TEMPLATE_SUFFIX);
-                template.process(processingModel, fileWriter);
+            String templateName = "things/" + thingModel.get("templateName") + TEMPLATE_SUFFIX;
+            if (writeSource(targetSourceFile, templateName, processingModel)) {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
+                        targetSourceFile.getAbsolutePath());
+            } else {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Generated class unchanged: {}",
+                        targetSourceFile.getAbsolutePath());
             }
-
-            JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
-                    targetSourceFile.getAbsolutePath());
             return true;
 
         } catch (TemplateException | IOException e) {
@@ -96,13 +94,13 @@ public class JRuleThingClassGenerator extends JRuleAbstractClassGenerator {
             File targetSourceFile = new File(new StringBuilder().append(jRuleConfig.getThingsDirectory())
                     .append(File.separator).append("JRuleThings.java").toString());
 
-            try (FileWriter fileWriter = new FileWriter(targetSourceFile)) {
-                Template template = freemarkerConfiguration.getTemplate("things/Things" + TEMPLATE_SUFFIX);
-                template.process(processingModel, fileWriter);
+            if (writeSource(targetSourceFile, "things/Things" + TEMPLATE_SUFFIX, processingModel)) {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
+                        targetSourceFile.getAbsolutePath());
+            } else {
+                JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Generated class unchanged: {}",
+                        targetSourceFile.getAbsolutePath());
             }
-
-            JRuleLog.debug(logger, LOG_NAME_CLASS_GENERATOR, "Wrote Generated class: {}",
-                    targetSourceFile.getAbsolutePath());
             return true;
         } catch (Exception e) {
             JRuleLog.error(logger, LOG_NAME_CLASS_GENERATOR,
@@ -200,5 +198,10 @@ public class JRuleThingClassGenerator extends JRuleAbstractClassGenerator {
         public String getFieldName() {
             return fieldName;
         }
+
+        @Override
+        public String toString() {
+            return channelName + "=" + fieldName;
+        }
     }
 }
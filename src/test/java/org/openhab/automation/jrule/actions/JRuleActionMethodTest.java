@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.actions;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.thing.binding.ThingActions;
+import org.openhab.core.thing.binding.ThingHandler;
+
+/**
+ * The {@link JRuleActionMethodTest}
+ *
+ * @author Robert Delbrück - Initial contribution
+ */
+public class JRuleActionMethodTest {
+
+    @Test
+    public void testRebindsOnNewThingActions() {
+        JRuleActionMethod method = new JRuleActionMethod("add", new Class<?>[] { Integer.class, int.class });
+        CountingActions first = new CountingActions();
+        Assertions.assertEquals(3, method.invoke(first, new Object[] { 1, 2 }));
+        Assertions.assertEquals(5, method.invoke(first, new Object[] { 2, 3 }));
+        Assertions.assertEquals(2, first.calls);
+
+        // e.g. the thing was restarted and its handler created new actions
+        CountingActions second = new CountingActions();
+        Assertions.assertEquals(7, method.invoke(second, new Object[] { 3, 4 }));
+        Assertions.assertEquals(2, first.calls);
+        Assertions.assertEquals(1, second.calls);
+    }
+
+    @Test
+    public void testVoidAction() {
+        JRuleActionMethod method = new JRuleActionMethod("reset", new Class<?>[0]);
+        CountingActions actions = new CountingActions();
+        actions.calls = 2;
+        Assertions.assertNull(method.invoke(actions, new Object[0]));
+        Assertions.assertEquals(0, actions.calls);
+    }
+
+    @Test
+    public void testErrors() {
+        CountingActions actions = new CountingActions();
+        RuntimeException missing = Assertions.assertThrows(RuntimeException.class,
+                () -> new JRuleActionMethod("missing", new Class<?>[0]).invoke(actions, new Object[0]));
+        Assertions.assertInstanceOf(NoSuchMethodException.class, missing.getCause());
+
+        RuntimeException failing = Assertions.assertThrows(RuntimeException.class,
+                () -> new JRuleActionMethod("fail", new Class<?>[0]).invoke(actions, new Object[0]));
+        Assertions.assertInstanceOf(IllegalStateException.class, failing.getCause());
+    }
+
+    public static class CountingActions implements ThingActions {
+        private int calls;
+
+        public int add(Integer a, int b) {
+            calls++;
+            return a + b;
+        }
+
+        public void reset() {
+            calls = 0;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("action failed");
+        }
+
+        @Override
+        public void setThingHandler(ThingHandler handler) {
+        }
+
+        @Override
+        public @Nullable ThingHandler getThingHandler() {
+            return null;
+        }
+    }
+}
@@ -187,6 +187,34 @@ public class JRuleItemNameClassGeneratorTest {
         // }
     }
 
+    @Test
+    public void testUnchangedModelIsNotWrittenAgain()
+            throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        MetadataRegistry metadataRegistry = Mockito.mock(MetadataRegistry.class);
+        Mockito.when(metadataRegistry.stream()).thenAnswer(invocationOnMock -> Stream.empty());
+        GenericItem item = createItem(SwitchItem.class, OnOffType.OFF);
+        File sourceFile = new File(targetFolder, "JRuleItemNames.java");
+
+        sourceFileGenerator.takeSourcesChanged();
+        assertTrue(sourceFileGenerator.generateItemNamesSource(List.of(item), metadataRegistry));
+        assertTrue(sourceFileGenerator.takeSourcesChanged());
+
+        // state is no part of the generated source
+        item.setState(OnOffType.ON);
+        assertTrue(sourceFileGenerator.generateItemNamesSource(List.of(item), metadataRegistry));
+        Assertions.assertFalse(sourceFileGenerator.takeSourcesChanged());
+
+        item.setLabel("Other label");
+        assertTrue(sourceFileGenerator.generateItemNamesSource(List.of(item), metadataRegistry));
+        assertTrue(sourceFileGenerator.takeSourcesChanged());
+
+        // a deleted file is written again
+        assertTrue(sourceFile.delete());
+        assertTrue(sourceFileGenerator.generateItemNamesSource(List.of(item), metadataRegistry));
+        assertTrue(sourceFileGenerator.takeSourcesChanged());
+        assertTrue(sourceFile.isFile());
+    }
+
     private static void testAllMethodsOnGeneratedItem(Class<?> aClass, Object jRuleItems, String itemName)
             throws NoSuchFieldException, IllegalAccessException, NoSuchMethodException, InvocationTargetException {
         Field itemField = aClass.getDeclaredField(itemName);
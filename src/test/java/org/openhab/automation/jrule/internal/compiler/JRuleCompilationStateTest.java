@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The {@link JRuleCompilationStateTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleCompilationStateTest {
+    private static final String PACKAGE = "org.openhab.automation.jrule.rules.user.";
+
+    private final File constants = new File("/rules/Constants.java");
+    private final File helper = new File("/rules/Helper.java");
+    private final File lightRules = new File("/rules/LightRules.java");
+    private final File otherRules = new File("/rules/OtherRules.java");
+
+    private JRuleCompilationState state;
+
+    @BeforeEach
+    public void setUp() {
+        state = new JRuleCompilationState();
+        state.update(constants, "c1", Set.of("class", "Constants", "THRESHOLD"), Set.of(PACKAGE + "Constants"));
+        state.update(helper, "h1", Set.of("class", "Helper", "Constants", "THRESHOLD"),
+                Set.of(PACKAGE + "Helper", PACKAGE + "Helper$Inner"));
+        state.update(lightRules, "l1", Set.of("class", "LightRules", "Inner", "JRule"), Set.of(PACKAGE + "LightRules"));
+        state.update(otherRules, "o1", Set.of("class", "OtherRules", "JRule"), Set.of(PACKAGE + "OtherRules"));
+    }
+
+    @Test
+    public void testUnchanged() {
+        Assertions.assertEquals(Set.of(), state.getAffectedSources(hashes("c1", "h1", "l1", "o1")));
+    }
+
+    @Test
+    public void testChangedLeaf() {
+        Assertions.assertEquals(Set.of(otherRules), state.getAffectedSources(hashes("c1", "h1", "l1", "o2")));
+    }
+
+    @Test
+    public void testDependentsAreTransitive() {
+        Assertions.assertEquals(Set.of(constants, helper, lightRules),
+                state.getAffectedSources(hashes("c2", "h1", "l1", "o1")));
+    }
+
+    @Test
+    public void testDeletedSource() {
+        Map<File, String> hashes = hashes("c1", "h1", "l1", "o1");
+        hashes.remove(helper);
+        Assertions.assertEquals(Set.of(helper), state.getDeletedSources(hashes.keySet()));
+        Assertions.assertEquals(Set.of(lightRules), state.getAffectedSources(hashes));
+    }
+
+    @Test
+    public void testNewSource() {
+        File newRules = new File("/rules/NewRules.java");
+        Map<File, String> hashes = hashes("c1", "h1", "l1", "o1");
+        hashes.put(newRules, "n1");
+        Assertions.assertEquals(Set.of(newRules), state.getAffectedSources(hashes));
+    }
+
+    @Test
+    public void testClearCompilesEverything() {
+        state.setClassPath("cp");
+        Assertions.assertTrue(state.matchesClassPath("cp"));
+        Assertions.assertFalse(state.matchesClassPath("other"));
+        state.clear();
+        Assertions.assertFalse(state.matchesClassPath("cp"));
+        Assertions.assertEquals(Set.of(constants, helper, lightRules, otherRules),
+                state.getAffectedSources(hashes("c1", "h1", "l1", "o1")));
+    }
+
+    @Test
+    public void testIdentifiersAndHash() {
+        Assertions.assertEquals(Set.of("int", "x", "Constants", "THRESHOLD"),
+                JRuleCompilationState.identifiers("int x = Constants.THRESHOLD + 1;"));
+        Assertions.assertEquals(64, JRuleCompilationState.hash(new byte[] { 1, 2, 3 }).length());
+        Assertions.assertNotEquals(JRuleCompilationState.hash(new byte[] { 1 }),
+                JRuleCompilationState.hash(new byte[] { 2 }));
+    }
+
+    @Test
+    public void testRestore(@TempDir Path folder) throws IOException {
+        File kept = Files.writeString(folder.resolve("Kept.java"), "class Kept {}").toFile();
+        File missingClasses = Files.writeString(folder.resolve("Missing.java"), "class Missing {}").toFile();
+        File user = Files.writeString(folder.resolve("User.java"), "class User { Kept kept; }").toFile();
+        File deleted = folder.resolve("Deleted.java").toFile();
+        state.clear();
+        state.update(kept, "k1", Set.of(), Set.of(PACKAGE + "Kept"));
+        state.update(missingClasses, "m1", Set.of(), Set.of(PACKAGE + "Missing"));
+        state.update(user, "u1", Set.of(), Set.of(PACKAGE + "User"));
+        state.update(deleted, "d1", Set.of(), Set.of(PACKAGE + "Deleted"));
+        state.setClassPath("cp");
+
+        JRuleCompilationState restored = new JRuleCompilationState();
+        restored.restore(state.toProperties(), (source, classNames) -> !source.equals(missingClasses));
+
+        Assertions.assertTrue(restored.matchesClassPath("cp"));
+        Assertions.assertEquals(Set.of(PACKAGE + "Deleted"), restored.getClassNames(deleted));
+        Assertions.assertEquals(Set.of(deleted), restored.getDeletedSources(List.of(kept, missingClasses, user)));
+        Map<File, String> hashes = new LinkedHashMap<>();
+        hashes.put(kept, "k1");
+        hashes.put(missingClasses, "m1");
+        hashes.put(user, "u1");
+        Assertions.assertEquals(Set.of(missingClasses), restored.getAffectedSources(hashes));
+        // identifiers are read from the sources again
+        hashes.put(kept, "k2");
+        Assertions.assertEquals(Set.of(kept, missingClasses, user), restored.getAffectedSources(hashes));
+    }
+
+    private Map<File, String> hashes(String constantsHash, String helperHash, String lightHash, String otherHash) {
+        Map<File, String> hashes = new LinkedHashMap<>();
+        hashes.put(constants, constantsHash);
+        hashes.put(helper, helperHash);
+        hashes.put(lightRules, lightHash);
+        hashes.put(otherRules, otherHash);
+        return hashes;
+    }
+}
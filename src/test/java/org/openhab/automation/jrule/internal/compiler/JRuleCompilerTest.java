@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.compiler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.automation.jrule.internal.JRuleConfig;
+
+/**
+ * The {@link JRuleCompilerTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleCompilerTest {
+    private static final String PACKAGE = "package org.openhab.automation.jrule.rules.user;\n";
+
+    @TempDir
+    Path folder;
+
+    private JRuleCompiler compiler;
+    private Path rulesDirectory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        JRuleConfig config = new JRuleConfig(Map.of("org.openhab.automation.jrule.directory", folder.toString()));
+        compiler = new JRuleCompiler(config);
+        rulesDirectory = Files.createDirectories(Path.of(config.getRulesDirectory()));
+    }
+
+    @Test
+    public void testDependentOfDeletedRuleIsCompiledAgain() throws IOException {
+        Path helper = Files.writeString(rulesDirectory.resolve("Helper.java"),
+                PACKAGE + "public class Helper { static int value() { return 1; } }");
+        Files.writeString(rulesDirectory.resolve("UsesHelper.java"),
+                PACKAGE + "public class UsesHelper { int x = Helper.value(); }");
+        Assertions.assertTrue(compiler.compileRules());
+        Assertions.assertTrue(Files.exists(rulesDirectory.resolve("Helper.class")));
+
+        Files.delete(helper);
+
+        // UsesHelper has to be compiled again and fail, instead of keeping its class file which refers to Helper
+        Assertions.assertFalse(compiler.compileRules());
+        Assertions.assertFalse(Files.exists(rulesDirectory.resolve("Helper.class")));
+    }
+}
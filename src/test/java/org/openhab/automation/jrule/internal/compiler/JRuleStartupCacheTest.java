@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The {@link JRuleStartupCacheTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleStartupCacheTest {
+    @TempDir
+    Path folder;
+
+    private File cacheFile;
+    private File jar;
+    private File source;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        cacheFile = folder.resolve(JRuleStartupCache.CACHE_FILE_NAME).toFile();
+        jar = Files.writeString(folder.resolve("jrule.jar"), "jar").toFile();
+        source = Files.writeString(folder.resolve("JRuleItems.java"), "class JRuleItems {}").toFile();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        JRuleStartupCache cache = new JRuleStartupCache(cacheFile, "v1");
+        Assertions.assertFalse(cache.load());
+        cache.putJar(jar);
+        cache.putFileFingerprints("items", Map.of(source.getAbsolutePath(), "f1"));
+        cache.putSection("rules", Map.of("classpath", "cp"));
+        cache.save();
+
+        JRuleStartupCache loaded = new JRuleStartupCache(cacheFile, "v1");
+        Assertions.assertTrue(loaded.load());
+        Assertions.assertTrue(loaded.isJarUnchanged(jar));
+        Assertions.assertEquals(Map.of(source.getAbsolutePath(), "f1"), loaded.getFileFingerprints("items"));
+        Assertions.assertEquals(Map.of(), loaded.getFileFingerprints("things"));
+        Assertions.assertEquals(Map.of("classpath", "cp"), loaded.getSection("rules"));
+    }
+
+    @Test
+    public void testOtherVersionsAreNotUsed() {
+        JRuleStartupCache cache = new JRuleStartupCache(cacheFile, "v1");
+        cache.putJar(jar);
+        cache.save();
+
+        JRuleStartupCache loaded = new JRuleStartupCache(cacheFile, "v2");
+        Assertions.assertFalse(loaded.load());
+        Assertions.assertFalse(loaded.isJarUnchanged(jar));
+    }
+
+    @Test
+    public void testModifiedFilesAreNotUsed() throws IOException {
+        JRuleStartupCache cache = new JRuleStartupCache(cacheFile, "v1");
+        cache.putJar(jar);
+        cache.putFileFingerprints("items", Map.of(source.getAbsolutePath(), "f1"));
+        cache.save();
+
+        Files.writeString(jar.toPath(), "other jar");
+        Assertions.assertTrue(source.delete());
+
+        JRuleStartupCache loaded = new JRuleStartupCache(cacheFile, "v1");
+        Assertions.assertTrue(loaded.load());
+        Assertions.assertFalse(loaded.isJarUnchanged(jar));
+        Assertions.assertEquals(Map.of(), loaded.getFileFingerprints("items"));
+    }
+}
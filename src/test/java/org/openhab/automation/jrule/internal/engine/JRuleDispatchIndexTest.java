@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleChannelExecutionContext;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleExecutionContext;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleItemReceivedCommandExecutionContext;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleThingExecutionContext;
+import org.openhab.automation.jrule.rules.JRuleMemberOf;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.ThingStatus;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.binding.builder.ThingStatusInfoBuilder;
+import org.openhab.core.thing.events.ThingEventFactory;
+
+/**
+ * The {@link JRuleDispatchIndexTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleDispatchIndexTest {
+    private final JRuleInvocationCallback invocationCallback = event -> {
+    };
+
+    @Test
+    public void testItemCandidatesIncludeParentGroupsInRegistrationOrder() {
+        JRuleExecutionContext group = itemContext("group", "MyGroup", JRuleMemberOf.All);
+        JRuleExecutionContext other = itemContext("other", "OtherItem", JRuleMemberOf.None);
+        JRuleExecutionContext direct = itemContext("direct", "MyItem", JRuleMemberOf.None);
+        JRuleDispatchIndex index = JRuleDispatchIndex.build(List.of(group, other, direct));
+
+        Assertions.assertEquals(List.of(group, direct), index.getCandidates(
+                ItemEventFactory.createCommandEvent("MyItem", OnOffType.ON), List.of("MyGroup", "UnknownGroup")));
+        Assertions.assertEquals(List.of(direct),
+                index.getCandidates(ItemEventFactory.createCommandEvent("MyItem", OnOffType.ON), List.of()));
+        Assertions.assertEquals(List.of(),
+                index.getCandidates(ItemEventFactory.createCommandEvent("Unknown", OnOffType.ON), List.of()));
+    }
+
+    @Test
+    public void testChannelCandidates() {
+        JRuleExecutionContext channel = new JRuleChannelExecutionContext("channel", "channel", new String[0],
+                invocationCallback, List.of(), "binding:thing:id:channel", Optional.empty(), null, null, false, null);
+        JRuleDispatchIndex index = JRuleDispatchIndex.build(List.of(channel));
+
+        Assertions.assertEquals(List.of(channel), index.getCandidates(
+                ThingEventFactory.createTriggerEvent("PRESSED", new ChannelUID("binding:thing:id:channel")),
+                List.of()));
+        Assertions.assertEquals(List.of(), index.getCandidates(
+                ThingEventFactory.createTriggerEvent("PRESSED", new ChannelUID("binding:thing:id:other")), List.of()));
+    }
+
+    @Test
+    public void testThingCandidatesIncludeWildcard() {
+        JRuleExecutionContext thing = thingContext("thing", "binding:thing:id");
+        JRuleExecutionContext any = thingContext("any", null);
+        JRuleDispatchIndex index = JRuleDispatchIndex.build(List.of(thing, any));
+
+        Assertions.assertEquals(List.of(thing, any), index.getCandidates(ThingEventFactory.createStatusInfoChangedEvent(
+                new ThingUID("binding:thing:id"), ThingStatusInfoBuilder.create(ThingStatus.ONLINE).build(),
+                ThingStatusInfoBuilder.create(ThingStatus.OFFLINE).build()), List.of()));
+        Assertions.assertEquals(List.of(any), index.getCandidates(ThingEventFactory.createStatusInfoChangedEvent(
+                new ThingUID("binding:thing:other"), ThingStatusInfoBuilder.create(ThingStatus.ONLINE).build(),
+                ThingStatusInfoBuilder.create(ThingStatus.OFFLINE).build()), List.of()));
+    }
+
+    @Test
+    public void testWatching() {
+        JRuleDispatchIndex index = JRuleDispatchIndex.build(List.of(itemContext("group", "MyGroup", JRuleMemberOf.All),
+                itemContext("direct", "MyItem", JRuleMemberOf.None), thingContext("thing", "binding:thing:id"),
+                new JRuleChannelExecutionContext("channel", "channel", new String[0], invocationCallback, List.of(),
+                        "binding:thing:id:channel", Optional.empty(), null, null, false, null)));
+        AtomicInteger lookups = new AtomicInteger();
+        Function<String, List<String>> parentGroups = name -> {
+            lookups.incrementAndGet();
+            return name.equals("Member") ? List.of("MyGroup") : List.of();
+        };
+
+        Assertions.assertTrue(index.watchingForItem("MyItem", parentGroups));
+        Assertions.assertEquals(0, lookups.get());
+        Assertions.assertTrue(index.watchingForItem("Member", parentGroups));
+        Assertions.assertTrue(index.watchingForItem("Member", parentGroups));
+        Assertions.assertEquals(1, lookups.get());
+        Assertions.assertFalse(index.watchingForItem("MyGroup", parentGroups));
+        index.invalidateItemMembership();
+        Assertions.assertTrue(index.watchingForItem("Member", parentGroups));
+        Assertions.assertEquals(3, lookups.get());
+
+        Assertions.assertTrue(index.watchingForChannel("binding:thing:id:channel"));
+        Assertions.assertFalse(index.watchingForChannel("binding:thing:id:other"));
+        Assertions.assertTrue(index.watchingForThing("binding:thing:id"));
+        Assertions.assertFalse(index.watchingForThing("binding:thing:other"));
+    }
+
+    private JRuleExecutionContext itemContext(String uid, String itemName, JRuleMemberOf memberOf) {
+        return new JRuleItemReceivedCommandExecutionContext(uid, uid, new String[0], invocationCallback, itemName,
+                memberOf, Optional.empty(), List.of(), Optional.empty(), null, null, false, null);
+    }
+
+    private JRuleExecutionContext thingContext(String uid, String thing) {
+        return new JRuleThingExecutionContext(uid, uid, new String[0], invocationCallback, Optional.ofNullable(thing),
+                Optional.empty(), Optional.empty(), List.of(), null, null, false, null);
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openhab.automation.jrule.rules.event.JRuleEvent;
+import org.openhab.automation.jrule.rules.event.JRuleTimerEvent;
+
+/**
+ * The {@link JRuleEventCoalescerTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleEventCoalescerTest {
+    private final JRuleEventCoalescer coalescer = new JRuleEventCoalescer();
+    private final List<JRuleEvent> delivered = new CopyOnWriteArrayList<>();
+    private final JRuleEvent running = new JRuleTimerEvent();
+    private final JRuleEvent newest = new JRuleTimerEvent();
+
+    @AfterEach
+    public void shutdown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    public void testOnlyNewestEventIsDelivered() throws InterruptedException {
+        JRuleEvent first = new JRuleTimerEvent();
+        JRuleEvent second = new JRuleTimerEvent();
+
+        coalescer.offer("rule/item", first, Duration.ofMillis(200), this::deliver);
+        coalescer.offer("rule/item", second, Duration.ofMillis(200), this::deliver);
+        coalescer.offer("rule/item", newest, Duration.ofMillis(200), this::deliver);
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 1);
+        Thread.sleep(400);
+        Assertions.assertEquals(List.of(newest), delivered);
+        Assertions.assertEquals(2, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void testEventsArrivingWhileRunningAreDeliveredAfterwards() {
+        coalescer.offer("rule/item", running, Duration.ZERO, this::deliverAndOfferNewest);
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 2);
+        Assertions.assertEquals(List.of(running, newest), delivered);
+    }
+
+    @Test
+    public void testUsableAfterShutdown() {
+        coalescer.offer("rule/item", running, Duration.ZERO, this::deliver);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 1);
+        coalescer.shutdown();
+
+        coalescer.offer("rule/item", newest, Duration.ZERO, this::deliver);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 2);
+        Assertions.assertEquals(List.of(running, newest), delivered);
+    }
+
+    @Test
+    public void testShutdownWhileDeliveryIsRunning() throws InterruptedException {
+        Set<Thread> before = coalescerThreads();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        coalescer.offer("rule/item", running, Duration.ZERO, (event, completion) -> {
+            delivered.add(event);
+            started.countDown();
+            awaitUninterruptibly(release);
+            completion.run();
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        coalescer.offer("rule/item", newest, Duration.ZERO, this::deliver);
+
+        coalescer.shutdown();
+        release.countDown();
+
+        // the completing delivery must not start a new scheduler thread for the pending event
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> before.containsAll(coalescerThreads()));
+        Thread.sleep(200);
+        Assertions.assertTrue(before.containsAll(coalescerThreads()));
+        Assertions.assertEquals(List.of(running), delivered);
+    }
+
+    @Test
+    public void testClearDropsPendingEventOfRunningDelivery() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        coalescer.offer("rule/item", running, Duration.ZERO, (event, completion) -> {
+            delivered.add(event);
+            started.countDown();
+            awaitUninterruptibly(release);
+            completion.run();
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        coalescer.offer("rule/item", new JRuleTimerEvent(), Duration.ZERO, this::deliver);
+
+        coalescer.clear();
+        release.countDown();
+        coalescer.offer("rule/item", newest, Duration.ZERO, this::deliver);
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> delivered.size() == 2);
+        Thread.sleep(200);
+        Assertions.assertEquals(List.of(running, newest), delivered);
+    }
+
+    private static Set<Thread> coalescerThreads() {
+        return Thread.getAllStackTraces().keySet().stream().filter(thread -> "JRule-Coalescer".equals(thread.getName()))
+                .collect(Collectors.toSet());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliverAndOfferNewest(JRuleEvent event, Runnable completion) {
+        delivered.add(event);
+        if (event == running) {
+            // arrives while the rule is still running
+            coalescer.offer("rule/item", newest, Duration.ZERO, this::deliverAndOfferNewest);
+        }
+        completion.run();
+    }
+
+    private void deliver(JRuleEvent event, Runnable completion) {
+        delivered.add(event);
+        completion.run();
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link JRuleHistogramTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleHistogramTest {
+
+    @Test
+    public void testBucketsCoverAllValues() {
+        for (long value = 0; value < 1_000_000; value += 13) {
+            int index = JRuleHistogram.index(value);
+            Assertions.assertTrue(JRuleHistogram.highestValue(index) >= value);
+            Assertions.assertTrue(index == 0 || JRuleHistogram.highestValue(index - 1) < value);
+            // at most 1/8 above the value
+            Assertions.assertTrue(JRuleHistogram.highestValue(index) - value <= value / 8);
+        }
+        Assertions.assertEquals(JRuleHistogram.BUCKETS - 1, JRuleHistogram.index(Long.MAX_VALUE));
+        Assertions.assertEquals(0, JRuleHistogram.index(-1));
+    }
+
+    @Test
+    public void testSnapshot() {
+        JRuleHistogram histogram = new JRuleHistogram();
+        Assertions.assertEquals(new JRuleHistogram.Snapshot(0, 0, 0, 0, 0, 0), histogram.snapshot());
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        JRuleHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(1000, snapshot.count());
+        Assertions.assertEquals(500_500, snapshot.mean());
+        Assertions.assertEquals(1_000_000, snapshot.max());
+        assertWithin(500_000, snapshot.p50());
+        assertWithin(900_000, snapshot.p90());
+        assertWithin(990_000, snapshot.p99());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        Assertions.assertTrue(actual >= expected && actual <= expected + expected / 8,
+                () -> actual + " is not within 12.5% above " + expected);
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openhab.automation.jrule.rules.event.JRuleEvent;
+import org.openhab.automation.jrule.rules.event.JRuleTimerEvent;
+
+/**
+ * The {@link JRulePooledRuleExecutorTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRulePooledRuleExecutorTest {
+    private final CountDownLatch blocker = new CountDownLatch(1);
+    private final List<JRuleEvent> invoked = new CopyOnWriteArrayList<>();
+    private JRuleRuleExecutor executor;
+
+    @AfterEach
+    public void shutdown() {
+        blocker.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCallerRunsWhenSaturated() {
+        executor = saturatedExecutor(JRuleSaturationPolicy.CALLER_RUNS);
+        JRuleEvent event = new JRuleTimerEvent();
+        executor.execute("rule", event, invoked::add);
+
+        Assertions.assertEquals(List.of(event), invoked);
+        Assertions.assertEquals(1, executor.getStatistics().callerRuns());
+        Assertions.assertEquals(1, executor.getStatistics().queueDepth());
+    }
+
+    @Test
+    public void testDropOldestPerRule() {
+        executor = saturatedExecutor(JRuleSaturationPolicy.DROP_OLDEST_PER_RULE);
+        JRuleEvent event = new JRuleTimerEvent();
+        executor.execute("rule", event, invoked::add);
+        blocker.countDown();
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> invoked.size() == 1);
+        Assertions.assertEquals(List.of(event), invoked);
+        Assertions.assertEquals(1, executor.getStatistics().dropped());
+    }
+
+    @Test
+    public void testCoalesce() {
+        executor = saturatedExecutor(JRuleSaturationPolicy.COALESCE);
+        JRuleEvent event = new JRuleTimerEvent();
+        executor.execute("rule", event, e -> Assertions.fail("coalesced task must not run"));
+        blocker.countDown();
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> invoked.size() == 1);
+        Assertions.assertSame(event, invoked.get(0));
+        Assertions.assertEquals(1, executor.getStatistics().coalesced());
+    }
+
+    @Test
+    public void testCoalescedRuleFiresAgainAfterDropOldest() {
+        assertCoalescedRuleFiresAgainAfterSaturation(JRuleSaturationPolicy.DROP_OLDEST_PER_RULE);
+    }
+
+    @Test
+    public void testCoalescedRuleFiresAgainAfterCoalesce() {
+        assertCoalescedRuleFiresAgainAfterSaturation(JRuleSaturationPolicy.COALESCE);
+    }
+
+    /**
+     * Two member items of a coalesced rule share the rule uid but not the coalescing slot, the delivery for the
+     * second item must neither drop nor swallow the queued delivery for the first one.
+     */
+    private void assertCoalescedRuleFiresAgainAfterSaturation(JRuleSaturationPolicy policy) {
+        executor = blockedExecutor(policy);
+        JRuleEventCoalescer coalescer = new JRuleEventCoalescer();
+        List<String> fired = new CopyOnWriteArrayList<>();
+        try {
+            coalescer.offer("rule/a", new JRuleTimerEvent(), Duration.ZERO, coalescedDelivery("a", fired));
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> executor.getStatistics().queueDepth() == 1);
+            coalescer.offer("rule/b", new JRuleTimerEvent(), Duration.ZERO, coalescedDelivery("b", fired));
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> fired.contains("b"));
+            blocker.countDown();
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> fired.contains("a"));
+
+            coalescer.offer("rule/a", new JRuleTimerEvent(), Duration.ZERO, coalescedDelivery("a", fired));
+            coalescer.offer("rule/b", new JRuleTimerEvent(), Duration.ZERO, coalescedDelivery("b", fired));
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> fired.size() == 4);
+            Assertions.assertEquals(2, fired.stream().filter("a"::equals).count());
+            Assertions.assertEquals(2, fired.stream().filter("b"::equals).count());
+            Assertions.assertEquals(0, executor.getStatistics().dropped());
+            Assertions.assertEquals(0, executor.getStatistics().coalesced());
+        } finally {
+            coalescer.shutdown();
+        }
+    }
+
+    private BiConsumer<JRuleEvent, Runnable> coalescedDelivery(String item, List<String> fired) {
+        return (event, completion) -> executor.execute("rule", event, e -> {
+            fired.add(item);
+            completion.run();
+        }, false);
+    }
+
+    /**
+     * One busy thread and one queued invocation of "rule"
+     */
+    private JRuleRuleExecutor saturatedExecutor(JRuleSaturationPolicy policy) {
+        JRuleRuleExecutor ruleExecutor = blockedExecutor(policy);
+        ruleExecutor.execute("rule", new JRuleTimerEvent(), invoked::add);
+        return ruleExecutor;
+    }
+
+    /**
+     * One busy thread and room for one queued invocation
+     */
+    private JRuleRuleExecutor blockedExecutor(JRuleSaturationPolicy policy) {
+        JRuleRuleExecutor ruleExecutor = new JRulePooledRuleExecutor(1, 1, 1, 1, policy,
+                Executors.defaultThreadFactory());
+        ruleExecutor.execute("blocking", null, e -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> ruleExecutor.getStatistics().activeThreads() == 1);
+        return ruleExecutor;
+    }
+}
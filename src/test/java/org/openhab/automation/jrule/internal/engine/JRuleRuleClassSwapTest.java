@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.automation.jrule.internal.module.JRuleModuleEntry;
+import org.openhab.automation.jrule.internal.rules.JRuleAbstractTest;
+import org.openhab.automation.jrule.rules.JRuleMemberOf;
+
+/**
+ * The {@link JRuleRuleClassSwapTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleRuleClassSwapTest extends JRuleAbstractTest {
+    private final JRuleEngine engine = JRuleEngine.get();
+
+    @BeforeEach
+    public void setUp() {
+        engine.reset();
+        loadRuleClass("RulesA", "RulesA.rule", "itemA");
+        loadRuleClass("RulesB", "RulesB.rule", "itemB");
+    }
+
+    @Test
+    public void testReplaceChangedClassOnly() {
+        JRuleModuleEntry ruleB = engine.ruleProvider.getRule("RulesB.rule");
+        Assertions.assertEquals(2, engine.getDispatchIndex().size());
+
+        engine.replaceRuleClasses(Set.of("RulesA"), () -> {
+            loadRuleClass("RulesA", "RulesA.rule", "itemA2");
+            loadRuleClass("RulesA", "RulesA.other", "itemA3");
+            // not live before the swap
+            Assertions.assertEquals(2, engine.getDispatchIndex().size());
+        });
+
+        Assertions.assertEquals(3, engine.getDispatchIndex().size());
+        Assertions.assertNotNull(engine.ruleProvider.getRule("RulesA.rule"));
+        Assertions.assertNotNull(engine.ruleProvider.getRule("RulesA.other"));
+        Assertions.assertSame(ruleB, engine.ruleProvider.getRule("RulesB.rule"));
+    }
+
+    @Test
+    public void testRemoveDeletedClass() {
+        engine.replaceRuleClasses(Set.of("RulesA"), () -> {
+        });
+
+        Assertions.assertEquals(1, engine.getDispatchIndex().size());
+        Assertions.assertNull(engine.ruleProvider.getRule("RulesA.rule"));
+        Assertions.assertNotNull(engine.ruleProvider.getRule("RulesB.rule"));
+
+        engine.replaceRuleClasses(Set.of("RulesA"), () -> loadRuleClass("RulesA", "RulesA.rule", "itemA"));
+        Assertions.assertEquals(2, engine.getDispatchIndex().size());
+    }
+
+    private void loadRuleClass(String ruleClassName, String uid, String itemName) {
+        try {
+            engine.createRuleInstance(ruleClassName, () -> engine.createJRuleBuilder(uid, event -> {
+            }).uid(uid).whenItemReceivedCommand(itemName, JRuleMemberOf.None, null, null).enableRule(true).build());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link JRuleRuleLanesTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleRuleLanesTest {
+
+    @Test
+    public void testSerialLaneKeepsOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            JRuleRuleLanes lanes = new JRuleRuleLanes(1);
+            List<Integer> executed = new CopyOnWriteArrayList<>();
+            AtomicInteger concurrent = new AtomicInteger();
+            AtomicInteger maxConcurrent = new AtomicInteger();
+
+            IntStream.range(0, 100).forEach(i -> lanes.submit("rule", () -> {
+                maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                executed.add(i);
+                concurrent.decrementAndGet();
+            }, executor));
+
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> executed.size() == 100);
+            Assertions.assertEquals(IntStream.range(0, 100).boxed().toList(), executed);
+            Assertions.assertEquals(1, maxConcurrent.get());
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> lanes.getRunning() == 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLaneIsHeldUntilInvocationIsDone() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            JRuleRuleLanes lanes = new JRuleRuleLanes(1);
+            List<String> executed = new CopyOnWriteArrayList<>();
+            AtomicReference<Runnable> delayedDone = new AtomicReference<>();
+
+            // like a delayed rule, returns before it is done
+            lanes.submit("rule", done -> {
+                executed.add("first started");
+                delayedDone.set(done);
+            }, executor);
+            lanes.submit("rule", () -> executed.add("second"), executor);
+
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> delayedDone.get() != null);
+            Assertions.assertEquals(1, lanes.getRunning());
+            Assertions.assertEquals(1, lanes.getPending());
+            Assertions.assertEquals(List.of("first started"), executed);
+
+            executed.add("first done");
+            delayedDone.get().run();
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> executed.size() == 3);
+            Assertions.assertEquals(List.of("first started", "first done", "second"), executed);
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> lanes.getRunning() == 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.WrongMethodTypeException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openhab.automation.jrule.rules.JRule;
+import org.openhab.automation.jrule.rules.event.JRuleEvent;
+import org.openhab.automation.jrule.rules.event.JRuleItemEvent;
+
+/**
+ * The {@link JRuleRuleMethodBindingTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleRuleMethodBindingTest {
+
+    @Test
+    public void testWithoutEvent() throws Throwable {
+        TestRules rules = new TestRules();
+        MethodHandle invoker = JRuleEngine.bindRuleMethod(rules, TestRules.class.getMethod("withoutEvent"));
+        invoker.invokeExact(Mockito.mock(JRuleEvent.class));
+        Assertions.assertEquals(List.of("withoutEvent"), rules.calls);
+    }
+
+    @Test
+    public void testWithEvent() throws Throwable {
+        TestRules rules = new TestRules();
+        MethodHandle invoker = JRuleEngine.bindRuleMethod(rules,
+                TestRules.class.getMethod("withEvent", JRuleItemEvent.class));
+        JRuleEvent event = Mockito.mock(JRuleItemEvent.class);
+        invoker.invokeExact(event);
+        Assertions.assertEquals(List.of("withEvent"), rules.calls);
+        Assertions.assertSame(event, rules.event);
+    }
+
+    @Test
+    public void testExceptionIsNotWrapped() throws Exception {
+        MethodHandle invoker = JRuleEngine.bindRuleMethod(new TestRules(), TestRules.class.getMethod("failing"));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> invoker.invokeExact(Mockito.mock(JRuleEvent.class)));
+    }
+
+    @Test
+    public void testUnsupportedParameter() {
+        Assertions.assertThrows(WrongMethodTypeException.class, () -> JRuleEngine.bindRuleMethod(new TestRules(),
+                TestRules.class.getMethod("unsupported", String.class)));
+    }
+
+    public static class TestRules extends JRule {
+        private final List<String> calls = new ArrayList<>();
+        private JRuleEvent event;
+
+        public TestRules() {
+            super(false);
+        }
+
+        public void withoutEvent() {
+            calls.add("withoutEvent");
+        }
+
+        public void withEvent(JRuleItemEvent event) {
+            calls.add("withEvent");
+            this.event = event;
+        }
+
+        public void failing() {
+            throw new IllegalStateException("failing rule");
+        }
+
+        public void unsupported(String value) {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine.excutioncontext;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+
+/**
+ * The {@link JRuleConditionEvaluatorTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleConditionEvaluatorTest {
+    @Test
+    public void testRange() {
+        JRuleConditionEvaluator evaluator = new JRuleConditionEvaluator(Optional.of(10d), Optional.empty(),
+                Optional.empty(), Optional.of(20d), Optional.empty(), Optional.empty());
+        Assertions.assertFalse(evaluator.test(new DecimalType(10)));
+        Assertions.assertTrue(evaluator.test(new DecimalType(15.5)));
+        Assertions.assertTrue(evaluator.test(new DecimalType(20)));
+        Assertions.assertFalse(evaluator.test(new DecimalType(20.1)));
+        Assertions.assertTrue(evaluator.test(QuantityType.valueOf("12 °C")));
+        Assertions.assertTrue(evaluator.test(new StringType("12")));
+        Assertions.assertTrue(evaluator.test(new StringType("12 W")));
+    }
+
+    @Test
+    public void testNoNumber() {
+        JRuleConditionEvaluator evaluator = new JRuleConditionEvaluator(Optional.empty(), Optional.of(0d),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+        Assertions.assertFalse(evaluator.test(new StringType("unknown")));
+        Assertions.assertFalse(evaluator.test(OnOffType.ON));
+        Assertions.assertFalse(evaluator.test(HSBType.BLUE));
+        Assertions.assertFalse(evaluator.test(null));
+    }
+
+    @Test
+    public void testEquality() {
+        JRuleConditionEvaluator eq = new JRuleConditionEvaluator(Optional.empty(), Optional.empty(),
+                Optional.empty(), Optional.empty(), Optional.of("ON"), Optional.empty());
+        Assertions.assertTrue(eq.test(OnOffType.ON));
+        Assertions.assertFalse(eq.test(OnOffType.OFF));
+
+        JRuleConditionEvaluator neq = new JRuleConditionEvaluator(Optional.empty(), Optional.empty(),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.of("ON"));
+        Assertions.assertFalse(neq.test(OnOffType.ON));
+        Assertions.assertTrue(neq.test(new StringType("OFF")));
+    }
+
+    @Test
+    public void testEmpty() {
+        JRuleConditionEvaluator evaluator = new JRuleConditionEvaluator(Optional.empty(), Optional.empty(),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+        Assertions.assertTrue(evaluator.isEmpty());
+        Assertions.assertTrue(evaluator.test(null));
+        Assertions.assertTrue(evaluator.test(new StringType("anything")));
+    }
+}
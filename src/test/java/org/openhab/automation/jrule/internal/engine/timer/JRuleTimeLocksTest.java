@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine.timer;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link JRuleTimeLocksTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleTimeLocksTest {
+    private final JRuleTimeLocks timeLocks = new JRuleTimeLocks();
+
+    @Test
+    public void testLockExpires() throws InterruptedException {
+        Assertions.assertTrue(timeLocks.tryAcquire("lock", Duration.ofMillis(200)));
+        Assertions.assertTrue(timeLocks.isLocked("lock"));
+        Assertions.assertFalse(timeLocks.tryAcquire("lock", Duration.ofMillis(200)));
+        Assertions.assertTrue(timeLocks.tryAcquire("other", Duration.ofMillis(200)));
+
+        Thread.sleep(250);
+        Assertions.assertFalse(timeLocks.isLocked("lock"));
+        Assertions.assertTrue(timeLocks.tryAcquire("lock", Duration.ofMillis(200)));
+        Assertions.assertEquals(1, timeLocks.purgeExpired());
+    }
+
+    @Test
+    public void testOnlyOneConcurrentAcquireWins() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            AtomicInteger acquired = new AtomicInteger();
+            IntStream.range(0, 1000).forEach(i -> executor.execute(() -> {
+                if (timeLocks.tryAcquire("lock", Duration.ofSeconds(10))) {
+                    acquired.incrementAndGet();
+                }
+            }));
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, acquired.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
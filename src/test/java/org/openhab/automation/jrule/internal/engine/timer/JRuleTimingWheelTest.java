@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.engine.timer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link JRuleTimingWheelTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleTimingWheelTest {
+    // small wheel, so the test timeouts need more than one revolution
+    private final JRuleTimingWheel timingWheel = new JRuleTimingWheel(Duration.ofMillis(10), 8, "test-wheel");
+
+    @AfterEach
+    public void stop() {
+        timingWheel.stop();
+    }
+
+    @Test
+    public void testTimeoutsExpireInOrder() {
+        List<Integer> expired = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        timingWheel.newTimeout(Duration.ofMillis(300), () -> expired.add(300));
+        timingWheel.newTimeout(Duration.ofMillis(50), () -> expired.add(50));
+        timingWheel.newTimeout(Duration.ofMillis(150), () -> expired.add(150));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> expired.size() == 3);
+        Assertions.assertEquals(List.of(50, 150, 300), expired);
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+        Assertions.assertEquals(0, timingWheel.getScheduledCount());
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotExpire() throws InterruptedException {
+        AtomicInteger expired = new AtomicInteger();
+        List<JRuleTimingWheel.Timeout> timeouts = IntStream.range(0, 1000)
+                .mapToObj(i -> timingWheel.newTimeout(Duration.ofMillis(100), expired::incrementAndGet)).toList();
+        Assertions.assertEquals(1000, timingWheel.getScheduledCount());
+
+        IntStream.range(0, 1000).filter(i -> i % 2 == 0)
+                .forEach(i -> Assertions.assertTrue(timeouts.get(i).cancel()));
+        Assertions.assertEquals(500, timingWheel.getScheduledCount());
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> expired.get() == 500);
+        Thread.sleep(100);
+        Assertions.assertEquals(500, expired.get());
+        Assertions.assertTrue(timeouts.get(0).isCancelled());
+        Assertions.assertTrue(timeouts.get(1).isExpired());
+        Assertions.assertFalse(timeouts.get(1).cancel());
+    }
+
+    @Test
+    public void testWorkerExitsWhenIdleAndRestarts() {
+        AtomicInteger expired = new AtomicInteger();
+        timingWheel.newTimeout(Duration.ofMillis(20), expired::incrementAndGet);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> expired.get() == 1);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> !isWorkerAlive());
+
+        timingWheel.newTimeout(Duration.ofMillis(20), expired::incrementAndGet);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> expired.get() == 2);
+    }
+
+    private static boolean isWorkerAlive() {
+        return Thread.getAllStackTraces().keySet().stream().anyMatch(t -> "test-wheel".equals(t.getName()));
+    }
+}
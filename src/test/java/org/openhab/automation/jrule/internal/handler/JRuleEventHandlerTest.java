@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.handler;
+
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openhab.automation.jrule.rules.value.JRuleDateTimeValue;
+import org.openhab.automation.jrule.rules.value.JRuleDecimalValue;
+import org.openhab.automation.jrule.rules.value.JRuleHsbValue;
+import org.openhab.automation.jrule.rules.value.JRuleOnOffValue;
+import org.openhab.automation.jrule.rules.value.JRuleOpenClosedValue;
+import org.openhab.automation.jrule.rules.value.JRulePercentValue;
+import org.openhab.automation.jrule.rules.value.JRuleQuantityValue;
+import org.openhab.automation.jrule.rules.value.JRuleStopMoveValue;
+import org.openhab.automation.jrule.rules.value.JRuleStringValue;
+import org.openhab.automation.jrule.rules.value.JRuleValue;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StopMoveType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * The {@link JRuleEventHandlerTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleEventHandlerTest {
+    private final JRuleEventHandler eventHandler = JRuleEventHandler.get();
+
+    @Test
+    public void testEnumStates() {
+        Assertions.assertSame(JRuleOnOffValue.ON, eventHandler.toValue((State) OnOffType.ON));
+        Assertions.assertSame(JRuleOnOffValue.OFF, eventHandler.toValue((State) OnOffType.OFF));
+        Assertions.assertSame(JRuleOpenClosedValue.CLOSED, eventHandler.toValue(OpenClosedType.CLOSED));
+        Assertions.assertSame(JRuleStopMoveValue.MOVE, eventHandler.toValue(StopMoveType.MOVE));
+    }
+
+    @Test
+    public void testWrappedStates() {
+        DecimalType decimal = new DecimalType(21.5);
+        JRuleValue value = eventHandler.toValue((State) decimal);
+        Assertions.assertInstanceOf(JRuleDecimalValue.class, value);
+        Assertions.assertSame(decimal, ((JRuleDecimalValue) value).getOhType());
+
+        Assertions.assertInstanceOf(JRulePercentValue.class, eventHandler.toValue((State) new PercentType(50)));
+        Assertions.assertInstanceOf(JRuleHsbValue.class, eventHandler.toValue((State) HSBType.RED));
+        Assertions.assertEquals(new JRuleQuantityValue("21.5 °C"),
+                eventHandler.toValue((State) QuantityType.valueOf("21.5 °C")));
+        Assertions.assertEquals(new JRuleStringValue("text"), eventHandler.toValue((State) new StringType("text")));
+        DateTimeType dateTime = new DateTimeType(ZonedDateTime.now());
+        Assertions.assertEquals(new JRuleDateTimeValue(dateTime.getZonedDateTime()),
+                eventHandler.toValue((State) dateTime));
+    }
+
+    @Test
+    public void testUnmapped() {
+        Assertions.assertNull(eventHandler.toValue(UnDefType.UNDEF));
+        Assertions.assertNull(eventHandler.toValue((State) null));
+        Assertions.assertThrows(IllegalStateException.class, () -> eventHandler.toValue(IncreaseDecreaseType.INCREASE));
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.handler;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openhab.automation.jrule.exception.JRuleItemNotFoundException;
+import org.openhab.core.items.GenericItem;
+import org.openhab.core.items.GroupItem;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.library.items.StringItem;
+
+/**
+ * The {@link JRuleGroupGraphTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleGroupGraphTest {
+    private final ItemRegistry itemRegistry = Mockito.mock(ItemRegistry.class);
+    private final JRuleGroupGraph groupGraph = new JRuleGroupGraph();
+    private final GroupItem house = new GroupItem("House");
+    private final GroupItem room = new GroupItem("Room");
+    private final StringItem lamp = new StringItem("Lamp");
+
+    @BeforeEach
+    public void init() throws ItemNotFoundException {
+        room.addGroupName(house.getName());
+        house.addMember(room);
+        lamp.addGroupName(room.getName());
+        room.addMember(lamp);
+        register(house);
+        register(room);
+        register(lamp);
+        Mockito.when(itemRegistry.getItem("Unknown")).thenThrow(new ItemNotFoundException("Unknown"));
+        groupGraph.setItemRegistry(itemRegistry);
+    }
+
+    @Test
+    public void testLookups() throws ItemNotFoundException {
+        Assertions.assertTrue(groupGraph.isGroup("Room"));
+        Assertions.assertFalse(groupGraph.isGroup("Lamp"));
+        Assertions.assertEquals(Set.of("Room"), groupGraph.getParentGroups("Lamp"));
+        Assertions.assertEquals(Set.of("Room", "House"), groupGraph.getParentGroups("Lamp", true));
+        Assertions.assertEquals(Set.of("Room"), groupGraph.getMembers("House", false));
+        Assertions.assertEquals(Set.of("Room", "Lamp"), groupGraph.getMembers("House", true));
+        Assertions.assertSame(groupGraph.getMembers("House", true), groupGraph.getMembers("House", true));
+        Assertions.assertThrows(JRuleItemNotFoundException.class, () -> groupGraph.getParentGroups("Unknown"));
+
+        // cached, the registry is not asked again
+        Mockito.verify(itemRegistry, Mockito.times(1)).getItem("Lamp");
+    }
+
+    @Test
+    public void testItemEvents() throws ItemNotFoundException {
+        Assertions.assertEquals(Set.of("Room", "Lamp"), groupGraph.getMembers("House", true));
+
+        StringItem radio = new StringItem("Radio");
+        radio.addGroupName(room.getName());
+        register(radio);
+        groupGraph.handleEvent(ItemEventFactory.createAddedEvent(radio));
+        Assertions.assertEquals(Set.of("Room", "Lamp", "Radio"), groupGraph.getMembers("House", true));
+
+        StringItem movedLamp = new StringItem("Lamp");
+        movedLamp.addGroupName(house.getName());
+        groupGraph.handleEvent(ItemEventFactory.createUpdateEvent(movedLamp, lamp));
+        Assertions.assertEquals(Set.of("House"), groupGraph.getParentGroups("Lamp"));
+        Assertions.assertEquals(Set.of("Radio"), groupGraph.getMembers("Room", false));
+        Assertions.assertEquals(Set.of("Room", "Lamp"), groupGraph.getMembers("House", false));
+
+        groupGraph.handleEvent(ItemEventFactory.createRemovedEvent(radio));
+        Assertions.assertEquals(Set.of(), groupGraph.getMembers("Room", false));
+        Assertions.assertEquals(Set.of("Room", "Lamp"), groupGraph.getMembers("House", true));
+    }
+
+    private void register(GenericItem item) throws ItemNotFoundException {
+        Mockito.when(itemRegistry.getItem(item.getName())).thenReturn(item);
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrule.internal.module;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.openhab.automation.jrule.internal.engine.excutioncontext.JRuleExecutionContext;
+import org.openhab.core.automation.RuleStatus;
+import org.openhab.core.automation.events.RuleStatusInfoEvent;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventPublisher;
+
+/**
+ * The {@link JRuleRuleProviderTest}
+ *
+ * @author Joseph (Seaside) Hagberg - Initial contribution
+ */
+public class JRuleRuleProviderTest {
+    private EventPublisher eventPublisher;
+    private JRuleRuleProvider ruleProvider;
+    private JRuleExecutionContext context;
+
+    @BeforeEach
+    public void setUp() {
+        eventPublisher = Mockito.mock(EventPublisher.class);
+        ruleProvider = new JRuleRuleProvider();
+        ruleProvider.setEventPublisher(eventPublisher);
+        context = Mockito.mock(JRuleExecutionContext.class);
+        Mockito.when(context.getUid()).thenReturn("rule-uid");
+    }
+
+    @Test
+    public void testAll() {
+        for (int i = 0; i < 3; i++) {
+            ruleProvider.runRule(context);
+            ruleProvider.stopRule(context);
+        }
+        Assertions.assertEquals(6, postedStatus().size());
+    }
+
+    @Test
+    public void testNone() {
+        ruleProvider.setStatusEvents(JRuleRuleStatusEvents.NONE, 1);
+        ruleProvider.runRule(context);
+        ruleProvider.stopRule(context);
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void testThrottled() {
+        ruleProvider.setStatusEvents(JRuleRuleStatusEvents.THROTTLED, 1);
+        for (int i = 0; i < 10; i++) {
+            ruleProvider.runRule(context);
+            ruleProvider.stopRule(context);
+        }
+        Assertions.assertEquals(List.of(RuleStatus.RUNNING, RuleStatus.IDLE), postedStatus());
+    }
+
+    @Test
+    public void testThrottledOverlappingInvocationsShareOnePair() {
+        ruleProvider.setStatusEvents(JRuleRuleStatusEvents.THROTTLED, 10);
+        ruleProvider.runRule(context);
+        ruleProvider.runRule(context);
+        ruleProvider.stopRule(context);
+        Assertions.assertEquals(List.of(RuleStatus.RUNNING), postedStatus());
+        ruleProvider.stopRule(context);
+        Assertions.assertEquals(List.of(RuleStatus.RUNNING, RuleStatus.IDLE), postedStatus());
+    }
+
+    @Test
+    public void testRemovedRuleDropsThrottle() {
+        ruleProvider.setStatusEvents(JRuleRuleStatusEvents.THROTTLED, 1);
+        ruleProvider.runRule(context);
+        ruleProvider.stopRule(context);
+        ruleProvider.remove("rule-uid");
+        ruleProvider.runRule(context);
+        ruleProvider.stopRule(context);
+        Assertions.assertEquals(List.of(RuleStatus.RUNNING, RuleStatus.IDLE, RuleStatus.RUNNING, RuleStatus.IDLE),
+                postedStatus());
+    }
+
+    private List<RuleStatus> postedStatus() {
+        ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
+        Mockito.verify(eventPublisher, Mockito.atLeast(0)).post(captor.capture());
+        return captor.getAllValues().stream().map(e -> ((RuleStatusInfoEvent) e).getStatusInfo().getStatus())
+                .toList();
+    }
+}
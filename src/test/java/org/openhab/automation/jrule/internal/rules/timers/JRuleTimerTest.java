@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verify;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.openhab.automation.jrule.internal.handler.JRuleTimerHandler;
 import org.openhab.automation.jrule.internal.rules.JRuleAbstractTest;
 import org.openhab.automation.jrule.items.JRuleItemRegistry;
 import org.openhab.core.events.Event;
@@ -96,6 +97,23 @@ public class JRuleTimerTest extends JRuleAbstractTest {
         assertTrue(eventPublisher.isLastCommandEvent(JRuleTimerTestRules.TARGET_ITEM_REPEATING, "repeating-10"));
     }
 
+    @Test
+    public void testRepeatingTimerForever() throws ItemNotFoundException, InterruptedException {
+        JRuleTimerTestRules rule = initRule(JRuleTimerTestRules.class);
+        // Set item state in ItemRegistry
+        registerItem(new StringItem(JRuleTimerTestRules.TARGET_ITEM_REPEATING), UnDefType.UNDEF);
+        registerItem(new StringItem(JRuleTimerTestRules.TRIGGER_ITEM), UnDefType.UNDEF);
+
+        JRuleItemRegistry.get(JRuleTimerTestRules.TARGET_ITEM_REPEATING, TargetItem.class);
+        fireEvents(false,
+                List.of(itemChangeEvent(JRuleTimerTestRules.TRIGGER_ITEM, "nothing", "timers-repeating-forever")));
+        verify(rule, times(1)).testRepeatingTimersForever();
+        Thread.sleep(3500); // Wait for timer inside rule to execute
+        assertTrue(
+                eventPublisher.isLastCommandEvent(JRuleTimerTestRules.TARGET_ITEM_REPEATING, "repeating-forever-20"));
+        assertFalse(JRuleTimerHandler.get().isTimerRunning("repeating-forever"));
+    }
+
     @Test
     public void testRepeatingTimerComplex() throws ItemNotFoundException, InterruptedException {
         JRuleTimerTestRules rule = initRule(JRuleTimerTestRules.class);
@@ -22,6 +22,7 @@ import org.openhab.automation.jrule.rules.JRule;
 import org.openhab.automation.jrule.rules.JRuleDebounce;
 import org.openhab.automation.jrule.rules.JRuleLogName;
 import org.openhab.automation.jrule.rules.JRuleName;
+import org.openhab.automation.jrule.rules.JRuleRepeatMode;
 import org.openhab.automation.jrule.rules.JRuleWhenItemChange;
 import org.openhab.automation.jrule.rules.JRuleWhenItemReceivedCommand;
 
@@ -126,6 +127,20 @@ public class JRuleTimerTestRules extends JRule {
                 t -> repeatingWithNameReplacedItem.sendCommand(TIMER_NAME + "-" + counter.incrementAndGet()));
     }
 
+    @JRuleName("Repeating Timers Forever")
+    @JRuleWhenItemChange(item = TRIGGER_ITEM, to = "timers-repeating-forever")
+    public void testRepeatingTimersForever() {
+        JRuleStringItem repeatingItem = JRuleStringItem.forName(TARGET_ITEM_REPEATING);
+
+        createRepeatingTimer("repeating-forever", Duration.ofMillis(100), REPEAT_FOREVER, JRuleRepeatMode.FIXED_DELAY,
+                t -> {
+                    repeatingItem.sendCommand("repeating-forever-" + t.getFiredCount());
+                    if (t.getFiredCount() == 20) {
+                        cancelTimer("repeating-forever");
+                    }
+                });
+    }
+
     @JRuleName("Rule name")
     @JRuleLogName("Rule log name")
     @JRuleWhenItemChange(item = TRIGGER_ITEM, to = "locks")
@@ -57,4 +57,27 @@ public class JRuleItemTest {
                     String.format("value '%s' is assignable from '%s'", entry.getValue(), item.getClass()));
         });
     }
+
+    @Test
+    public void testPrewarm() throws ItemNotFoundException, InvocationTargetException, NoSuchMethodException,
+            InstantiationException, IllegalAccessException {
+        JRuleItemRegistry.setMetadataRegistry(Mockito.mock(MetadataRegistry.class));
+        JRuleItemRegistry.clear();
+
+        List<Pair<? extends Item, Class<? extends JRuleItem>>> items = JRuleItemTestUtils.getAllDummyItems();
+        ItemRegistry itemRegistry = Mockito.mock(ItemRegistry.class);
+        JRuleEventHandler.get().setItemRegistry(itemRegistry);
+
+        Assertions.assertEquals(items.size(), JRuleItemRegistry.prewarm(items.stream().map(Pair::getKey).toList()));
+        Assertions.assertEquals(0, JRuleItemRegistry.prewarm(items.stream().map(Pair::getKey).toList()));
+
+        items.forEach((entry) -> {
+            JRuleItem item = JRuleItem.forName(entry.getKey().getName());
+            Assertions.assertSame(item, JRuleItem.forName(entry.getKey().getName()));
+            Assertions.assertTrue(entry.getValue().isAssignableFrom(item.getClass()),
+                    String.format("value '%s' is assignable from '%s'", entry.getValue(), item.getClass()));
+        });
+        // all items were created up front, the item registry was never asked
+        Mockito.verify(itemRegistry, Mockito.never()).getItem(Mockito.anyString());
+    }
 }